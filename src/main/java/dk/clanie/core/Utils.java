@@ -31,9 +31,11 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
 import org.jspecify.annotations.NonNull;
@@ -42,6 +44,7 @@ import org.slf4j.Logger;
 
 import dk.clanie.core.collections.KeyValuePair;
 import dk.clanie.core.util.BooleanUtils;
+import dk.clanie.core.util.ChunkUtils;
 import dk.clanie.core.util.CollectionUtils;
 import dk.clanie.core.util.DateTimeUtils;
 import dk.clanie.core.util.FileUtils;
@@ -49,6 +52,7 @@ import dk.clanie.core.util.HashUtils;
 import dk.clanie.core.util.LoggingUtils;
 import dk.clanie.core.util.MiscUtils;
 import dk.clanie.core.util.SortDirection;
+import dk.clanie.core.util.SortedListUtils;
 import dk.clanie.core.util.StringUtils;
 import dk.clanie.exception.RuntimeIOException;
 
@@ -121,6 +125,51 @@ public final class Utils {
 
 
 
+	// ***** ChunkUtils methods *****
+
+	/**
+	 * Returns a lazy Iterable of chunks of up to {@code size} elements from given {@code iterable}.
+	 */
+	public static @NonNull <T> Iterable<List<T>> chunked(@Nullable Iterable<T> iterable, int size) {
+		return ChunkUtils.chunked(iterable, size);
+	}
+
+
+	/**
+	 * Returns a lazy Iterable of chunks from given {@code iterable}, each with up to
+	 * {@code maxSize} elements and a total weight of at most {@code maxWeight}.
+	 */
+	public static @NonNull <T> Iterable<List<T>> chunked(@Nullable Iterable<T> iterable, int maxSize, long maxWeight, ToLongFunction<? super T> weigher) {
+		return ChunkUtils.chunked(iterable, maxSize, maxWeight, weigher);
+	}
+
+
+	/**
+	 * Returns a sequential Stream of chunks of up to {@code size} elements from given {@code iterable}.
+	 */
+	public static @NonNull <T> Stream<List<T>> chunkedStream(@Nullable Iterable<T> iterable, int size) {
+		return ChunkUtils.chunkedStream(iterable, size);
+	}
+
+
+	/**
+	 * Returns a sequential Stream of chunks from given {@code iterable}, each with up to
+	 * {@code maxSize} elements and a total weight of at most {@code maxWeight}.
+	 */
+	public static @NonNull <T> Stream<List<T>> chunkedStream(@Nullable Iterable<T> iterable, int maxSize, long maxWeight, ToLongFunction<? super T> weigher) {
+		return ChunkUtils.chunkedStream(iterable, maxSize, maxWeight, weigher);
+	}
+
+
+	/**
+	 * Performs given {@code action} for each chunk of up to {@code size} elements from given {@code iterable},
+	 * reusing the same List for all chunks.
+	 */
+	public static <T> void forEachChunk(@Nullable Iterable<T> iterable, int size, Consumer<? super List<T>> action) {
+		ChunkUtils.forEachChunk(iterable, size, action);
+	}
+
+
 	// ***** CollectionUtils methods *****
 
 
@@ -241,6 +290,98 @@ public final class Utils {
 	}
 
 
+	/**
+	 * Parallel variant of {@link #asMap(Iterable, Function)}.
+	 */
+	public static @NonNull <K, V> Map<K, V> parallelAsMap(@Nullable Iterable<V> iterable, Function<? super V, ? extends K> keyMapper) {
+		return CollectionUtils.parallelAsMap(iterable, keyMapper);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #asMap(Iterable, Function, Function)}.
+	 */
+	public static @NonNull <V, K, MV> Map<K, MV> parallelAsMap(@Nullable Iterable<V> iterable, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends MV> valueMapper) {
+		return CollectionUtils.parallelAsMap(iterable, keyMapper, valueMapper);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #asMap(Iterable, Function, Function)}, going parallel
+	 * for Collections with at least {@code threshold} elements.
+	 */
+	public static @NonNull <V, K, MV> Map<K, MV> parallelAsMap(@Nullable Iterable<V> iterable, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends MV> valueMapper, int threshold) {
+		return CollectionUtils.parallelAsMap(iterable, keyMapper, valueMapper, threshold);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #filterList(Iterable, Predicate)}.
+	 */
+	public static @NonNull <T> List<T> parallelFilterList(@Nullable Iterable<T> iterable, Predicate<? super T> predicate) {
+		return CollectionUtils.parallelFilterList(iterable, predicate);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #filterList(Iterable, Predicate)}, going parallel
+	 * for Collections with at least {@code threshold} elements.
+	 */
+	public static @NonNull <T> List<T> parallelFilterList(@Nullable Iterable<T> iterable, Predicate<? super T> predicate, int threshold) {
+		return CollectionUtils.parallelFilterList(iterable, predicate, threshold);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #mapList(Iterable, Function)}.
+	 */
+	public static @NonNull <T, R> List<R> parallelMapList(@Nullable Iterable<T> iterable, Function<? super T, ? extends R> mapper) {
+		return CollectionUtils.parallelMapList(iterable, mapper);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #mapList(Iterable, Function)}, going parallel
+	 * for Collections with at least {@code threshold} elements.
+	 */
+	public static @NonNull <T, R> List<R> parallelMapList(@Nullable Iterable<T> iterable, Function<? super T, ? extends R> mapper, int threshold) {
+		return CollectionUtils.parallelMapList(iterable, mapper, threshold);
+	}
+
+
+	/**
+	 * Returns a List view of given {@code list} with each element transformed using given {@code mapper}.
+	 */
+	public static @NonNull <T, R> List<R> mapView(@Nullable List<T> list, Function<? super T, ? extends R> mapper) {
+		return CollectionUtils.mapView(list, mapper);
+	}
+
+
+	/**
+	 * Returns a Collection view of given {@code collection} with each element transformed using given {@code mapper}.
+	 */
+	public static @NonNull <T, R> Collection<R> mapView(@Nullable Collection<T> collection, Function<? super T, ? extends R> mapper) {
+		return CollectionUtils.mapView(collection, mapper);
+	}
+
+
+	/**
+	 * Returns a Collection view of the elements in given {@code collection} matching given {@code predicate}.
+	 */
+	public static @NonNull <T> Collection<T> filterView(@Nullable Collection<T> collection, Predicate<? super T> predicate) {
+		return CollectionUtils.filterView(collection, predicate);
+	}
+
+
+	/**
+	 * Returns a List view of given {@code lists} concatenated.
+	 */
+	@SafeVarargs
+	public static @NonNull <T> List<T> concatView(@Nullable List<? extends T>... lists) {
+		return CollectionUtils.concatView(lists);
+	}
+
+
 	/**
 	 * Returns a sequential {@link Stream} of the contents of {@code iterable}, delegating to
 	 * {@link Collection#stream} if possible.
@@ -283,6 +424,16 @@ public final class Utils {
 	}
 
 
+	/**
+	 * Returns a reverse-order {@link Stream} of the contents of {@code array}.
+	 *
+	 * Never returns null. If given {@code array} is {@code null} an empty stream is returned.
+	 */
+	public static @NonNull <T> Stream<T> reverseStream(@Nullable T[] array) {
+		return CollectionUtils.reverseStream(array);
+	}
+
+
 
 	/**
 	 * Converts given Map to a List of KeyValuePair.
@@ -645,6 +796,66 @@ public final class Utils {
 
 
 
+	// ***** SortedListUtils methods *****
+
+	/**
+	 * Searches given sorted {@code list} for an element with given {@code key}.
+	 */
+	public static <T, E extends Comparable<? super E>> int binarySearch(List<T> list, E key, Function<T, E> extractor, SortDirection direction) {
+		return SortedListUtils.binarySearch(list, key, extractor, direction);
+	}
+
+
+	/**
+	 * Returns the index of the first element in given sorted {@code list} whose key
+	 * isn't ordered before given {@code key}.
+	 */
+	public static <T, E extends Comparable<? super E>> int lowerBound(List<T> list, E key, Function<T, E> extractor, SortDirection direction) {
+		return SortedListUtils.lowerBound(list, key, extractor, direction);
+	}
+
+
+	/**
+	 * Returns the index of the first element in given sorted {@code list} whose key
+	 * is ordered after given {@code key}.
+	 */
+	public static <T, E extends Comparable<? super E>> int upperBound(List<T> list, E key, Function<T, E> extractor, SortDirection direction) {
+		return SortedListUtils.upperBound(list, key, extractor, direction);
+	}
+
+
+	/**
+	 * Returns the elements in given sorted {@code list} with keys from {@code from} to {@code to}, both inclusive.
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> range(List<T> list, E from, E to, Function<T, E> extractor, SortDirection direction) {
+		return SortedListUtils.range(list, from, to, extractor, direction);
+	}
+
+
+	/**
+	 * Returns the elements in sorted list {@code a} with keys also found in sorted list {@code b}.
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> intersection(List<T> a, List<T> b, Function<T, E> extractor, SortDirection direction) {
+		return SortedListUtils.intersection(a, b, extractor, direction);
+	}
+
+
+	/**
+	 * Returns the elements in sorted list {@code a} with keys not found in sorted list {@code b}.
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> difference(List<T> a, List<T> b, Function<T, E> extractor, SortDirection direction) {
+		return SortedListUtils.difference(a, b, extractor, direction);
+	}
+
+
+	/**
+	 * Returns the elements of sorted lists {@code a} and {@code b} merged.
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> union(List<T> a, List<T> b, Function<T, E> extractor, SortDirection direction) {
+		return SortedListUtils.union(a, b, extractor, direction);
+	}
+
+
 	// ***** StringUtils methods *****
 
 
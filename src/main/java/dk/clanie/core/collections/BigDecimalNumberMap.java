@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.lang.Math.addExact;
+import static java.lang.Math.max;
+import static java.lang.Math.multiplyExact;
+import static java.lang.Math.subtractExact;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * BigDecimal Number Map.
+ * <p>
+ * A {@link NumberMap} alternative for <code>BigDecimal</code> values which
+ * accumulates each value as an unscaled <code>long</code> and a scale, and only
+ * creates <code>BigDecimal</code> instances when values are read.
+ * </p><p>
+ * When adding values of different scale the sum is rescaled to the larger
+ * scale, exactly like {@link BigDecimal#add(BigDecimal)} does, so the values
+ * read are equal - including scale - to those a <code>NumberMap</code> created
+ * by {@link NumberMap#newBigDecimalMap()} would hold.
+ * If an unscaled sum doesn't fit in a <code>long</code> that entry falls
+ * back to <code>BigDecimal</code> arithmetic.
+ * </p><p>
+ * {@link #addUnscaled(Object, long, int)} is allocation free; {@link #add(Object, BigDecimal)}
+ * only allocates a short-lived <code>BigInteger</code> to get at the unscaled value.
+ * </p>
+ *
+ * @param <K> key type
+ */
+public class BigDecimalNumberMap<K> extends PrimitiveNumberMap<K, BigDecimal> {
+
+	private static final int MAX_COMPACT_PRECISION = 18;
+	private static final long[] POWERS_OF_TEN = new long[MAX_COMPACT_PRECISION + 1];
+	static {
+		POWERS_OF_TEN[0] = 1L;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+	}
+
+	private long[] unscaledSums;
+	private int[] scales;
+	private BigDecimal[] bigSums;
+
+
+	public BigDecimalNumberMap() {
+		this(0);
+	}
+
+
+	/**
+	 * Creates a BigDecimalNumberMap presized to hold given number of entries without rehashing.
+	 */
+	public BigDecimalNumberMap(int expectedSize) {
+		super(BigDecimal.class, expectedSize);
+		unscaledSums = new long[capacity()];
+		scales = new int[capacity()];
+		bigSums = new BigDecimal[capacity()];
+	}
+
+
+	/**
+	 * Adds <code>unscaledValue &times; 10<sup>-scale</sup></code> to the value
+	 * for given key, creating the entry if absent.
+	 */
+	public void addUnscaled(K key, long unscaledValue, int scale) {
+		accumulate(insert(key), unscaledValue, scale, false);
+	}
+
+
+	/**
+	 * Subtracts <code>unscaledValue &times; 10<sup>-scale</sup></code> from the value
+	 * for given key, creating the entry if absent.
+	 */
+	public void subUnscaled(K key, long unscaledValue, int scale) {
+		accumulate(insert(key), unscaledValue, scale, true);
+	}
+
+
+	/**
+	 * Gets the value for given key, or <code>BigDecimal.ZERO</code> if the key is absent.
+	 */
+	public BigDecimal getBigDecimal(Object key) {
+		int slot = key == null ? -1 : find(key);
+		return slot < 0 ? BigDecimal.ZERO : valueAt(slot);
+	}
+
+
+	/**
+	 * Performs given action for each entry in this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super BigDecimal> action) {
+		Object[] keys = this.keys;
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != null) action.accept((K) keys[slot], valueAt(slot));
+		}
+	}
+
+
+	@Override
+	public void add(K key, BigDecimal addend) {
+		update(insert(key), addend, false);
+	}
+
+
+	@Override
+	public void sub(K key, BigDecimal subtrahend) {
+		update(insert(key), subtrahend, true);
+	}
+
+
+	private void update(int slot, BigDecimal operand, boolean subtract) {
+		if (operand.precision() <= MAX_COMPACT_PRECISION) {
+			accumulate(slot, operand.unscaledValue().longValue(), operand.scale(), subtract);
+		} else {
+			accumulateBig(slot, operand, subtract);
+		}
+	}
+
+
+	private void accumulate(int slot, long unscaled, int scale, boolean subtract) {
+		if (bigSums[slot] == null) {
+			long sum = unscaledSums[slot];
+			int sumScale = scales[slot];
+			int resultScale = max(sumScale, scale);
+			try {
+				long a = rescale(sum, resultScale - sumScale);
+				long b = rescale(unscaled, resultScale - scale);
+				unscaledSums[slot] = subtract ? subtractExact(a, b) : addExact(a, b);
+				scales[slot] = resultScale;
+				return;
+			} catch (ArithmeticException overflow) {
+				// Fall through to BigDecimal arithmetic
+			}
+		}
+		accumulateBig(slot, BigDecimal.valueOf(unscaled, scale), subtract);
+	}
+
+
+	private void accumulateBig(int slot, BigDecimal operand, boolean subtract) {
+		BigDecimal sum = bigSums[slot];
+		if (sum == null) {
+			sum = BigDecimal.valueOf(unscaledSums[slot], scales[slot]);
+			unscaledSums[slot] = 0L;
+			scales[slot] = 0;
+		}
+		bigSums[slot] = subtract ? sum.subtract(operand) : sum.add(operand);
+	}
+
+
+	/**
+	 * Multiplies given unscaled value by 10<sup>scaleIncrease</sup>.
+	 *
+	 * @throws ArithmeticException if the result overflows a long
+	 */
+	private static long rescale(long unscaled, int scaleIncrease) {
+		if (scaleIncrease == 0 || unscaled == 0L) return unscaled;
+		if (scaleIncrease < 0 || scaleIncrease > MAX_COMPACT_PRECISION) throw new ArithmeticException("long overflow");
+		return multiplyExact(unscaled, POWERS_OF_TEN[scaleIncrease]);
+	}
+
+
+	@Override
+	BigDecimal valueAt(int slot) {
+		BigDecimal big = bigSums[slot];
+		return big != null ? big : BigDecimal.valueOf(unscaledSums[slot], scales[slot]);
+	}
+
+
+	@Override
+	void setValueAt(int slot, BigDecimal value) {
+		if (value.precision() <= MAX_COMPACT_PRECISION) {
+			unscaledSums[slot] = value.unscaledValue().longValue();
+			scales[slot] = value.scale();
+			bigSums[slot] = null;
+		} else {
+			unscaledSums[slot] = 0L;
+			scales[slot] = 0;
+			bigSums[slot] = value;
+		}
+	}
+
+
+	@Override
+	void relocateValues(int[] destination, int newCapacity) {
+		long[] relocatedSums = new long[newCapacity];
+		int[] relocatedScales = new int[newCapacity];
+		BigDecimal[] relocatedBigSums = new BigDecimal[newCapacity];
+		for (int i = 0; i < destination.length; i++) {
+			int to = destination[i];
+			if (to < 0) continue;
+			relocatedSums[to] = unscaledSums[i];
+			relocatedScales[to] = scales[i];
+			relocatedBigSums[to] = bigSums[i];
+		}
+		unscaledSums = relocatedSums;
+		scales = relocatedScales;
+		bigSums = relocatedBigSums;
+	}
+
+
+	@Override
+	void moveValue(int from, int to) {
+		unscaledSums[to] = unscaledSums[from];
+		scales[to] = scales[from];
+		bigSums[to] = bigSums[from];
+	}
+
+
+	@Override
+	void clearValue(int slot) {
+		unscaledSums[slot] = 0L;
+		scales[slot] = 0;
+		bigSums[slot] = null;
+	}
+
+
+	@Override
+	void clearValues() {
+		Arrays.fill(unscaledSums, 0L);
+		Arrays.fill(scales, 0);
+		Arrays.fill(bigSums, null);
+	}
+
+
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent Number Map.
+ * <p>
+ * A thread-safe counterpart to {@link NumberMap}, which many threads can
+ * <code>add</code> to and <code>sub</code>tract from without external locking.
+ * </p><p>
+ * Each value is kept in a {@link LongAdder} or {@link DoubleAdder}, so concurrent
+ * updates of the same key are spread over striped cells instead of contending
+ * on a single one.
+ * </p><p>
+ * Updates take a read lock on one of a number of stripes chosen by the calling thread,
+ * while {@link #snapshot()}, {@link #remove(Object)} and {@link #clear()} lock all stripes.
+ * This makes snapshots consistent - each snapshot contains either all or nothing of every
+ * <code>add</code> or <code>sub</code> - without making updates contend with each other.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <E> element type
+ */
+public abstract class ConcurrentNumberMap<K, E extends Number> {
+
+	private final StampedLock[] stripes;
+
+
+	ConcurrentNumberMap() {
+		int count = Integer.highestOneBit(2 * Runtime.getRuntime().availableProcessors() - 1) << 1;
+		stripes = new StampedLock[count];
+		for (int i = 0; i < count; i++) stripes[i] = new StampedLock();
+	}
+
+
+	/**
+	 * Creates a ConcurrentNumberMap for instances of Long, Integer or Double.
+	 *
+	 * @param <K> key type
+	 * @param <E> element type
+	 * @param elementType
+	 * @return ConcurrentNumberMap&lt;K, E&gt;
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, E extends Number> ConcurrentNumberMap<K, E> newNumberMap(Class<E> elementType) {
+		if (elementType == Long.class) return (ConcurrentNumberMap<K, E>) newLongMap();
+		if (elementType == Double.class) return (ConcurrentNumberMap<K, E>) newDoubleMap();
+		if (elementType == Integer.class) return (ConcurrentNumberMap<K, E>) newIntegerMap();
+		else throw new UnsupportedOperationException();
+	}
+
+
+	/**
+	 * Creates a ConcurrentNumberMap for Doubles.
+	 *
+	 * @param <K>
+	 * @return ConcurrentNumberMap&lt;K, Double&gt;
+	 */
+	public static <K> ConcurrentNumberMap<K, Double> newDoubleMap() {
+		return new AdderMap<K, Double, DoubleAdder>(Double.class, DoubleAdder::new,
+				DoubleAdder::add, (cell, subtrahend) -> cell.add(-subtrahend), DoubleAdder::sum);
+	}
+
+
+	/**
+	 * Creates a ConcurrentNumberMap for Integers.
+	 * <p>
+	 * Like <code>int</code> arithmetic, sums silently overflow.
+	 * </p>
+	 *
+	 * @param <K>
+	 * @return ConcurrentNumberMap&lt;K, Integer&gt;
+	 */
+	public static <K> ConcurrentNumberMap<K, Integer> newIntegerMap() {
+		return new AdderMap<K, Integer, LongAdder>(Integer.class, LongAdder::new,
+				LongAdder::add, (cell, subtrahend) -> cell.add(-subtrahend), LongAdder::intValue);
+	}
+
+
+	/**
+	 * Creates a ConcurrentNumberMap for Longs.
+	 *
+	 * @param <K>
+	 * @return ConcurrentNumberMap&lt;K, Long&gt;
+	 */
+	public static <K> ConcurrentNumberMap<K, Long> newLongMap() {
+		return new AdderMap<K, Long, LongAdder>(Long.class, LongAdder::new,
+				LongAdder::add, (cell, subtrahend) -> cell.add(-subtrahend), LongAdder::sum);
+	}
+
+
+	/**
+	 * Add to the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param addend
+	 */
+	public abstract void add(K key, E addend);
+
+
+	/**
+	 * Subtract from the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param subtrahend
+	 */
+	public abstract void sub(K key, E subtrahend);
+
+
+	/**
+	 * Gets the current value for given key, or null if the key is absent.
+	 * <p>
+	 * If updates of the key are in progress, the result may include some of them.
+	 * </p>
+	 */
+	public abstract E get(Object key);
+
+
+	/**
+	 * Returns true if this map contains an entry for given key.
+	 */
+	public abstract boolean containsKey(Object key);
+
+
+	/**
+	 * Returns the number of entries in this map.
+	 */
+	public abstract int size();
+
+
+	/**
+	 * Returns true if this map contains no entries.
+	 */
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+
+	/**
+	 * Removes the entry for given key.
+	 *
+	 * @return the value removed, or null if the key was absent
+	 */
+	public E remove(Object key) {
+		long[] stamps = lockAll();
+		try {
+			return removeUnlocked(key);
+		} finally {
+			unlockAll(stamps);
+		}
+	}
+
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		long[] stamps = lockAll();
+		try {
+			clearUnlocked();
+		} finally {
+			unlockAll(stamps);
+		}
+	}
+
+
+	/**
+	 * Returns a consistent copy of this map as an ordinary {@link NumberMap}.
+	 * <p>
+	 * Updates are blocked while the copy is made.
+	 * </p>
+	 */
+	public NumberMap<K, E> snapshot() {
+		long[] stamps = lockAll();
+		try {
+			return snapshotUnlocked();
+		} finally {
+			unlockAll(stamps);
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return snapshot().toString();
+	}
+
+
+	abstract E removeUnlocked(Object key);
+
+	abstract void clearUnlocked();
+
+	abstract NumberMap<K, E> snapshotUnlocked();
+
+
+	/**
+	 * Gets the stripe lock for the current thread.
+	 */
+	final StampedLock stripe() {
+		return stripes[(int) Thread.currentThread().threadId() & (stripes.length - 1)];
+	}
+
+
+	private long[] lockAll() {
+		long[] stamps = new long[stripes.length];
+		for (int i = 0; i < stripes.length; i++) stamps[i] = stripes[i].writeLock();
+		return stamps;
+	}
+
+
+	private void unlockAll(long[] stamps) {
+		for (int i = stripes.length - 1; i >= 0; i--) stripes[i].unlockWrite(stamps[i]);
+	}
+
+
+	/**
+	 * ConcurrentNumberMap backed by a ConcurrentHashMap of adder cells.
+	 *
+	 * @param <K> key type
+	 * @param <E> element type
+	 * @param <A> adder (cell) type
+	 */
+	private static final class AdderMap<K, E extends Number, A> extends ConcurrentNumberMap<K, E> {
+
+		private final ConcurrentHashMap<K, A> cells = new ConcurrentHashMap<>();
+		private final Class<E> elementType;
+		private final Supplier<A> newCell;
+		private final BiConsumer<A, E> adder;
+		private final BiConsumer<A, E> subtractor;
+		private final Function<A, E> sum;
+
+		AdderMap(Class<E> elementType, Supplier<A> newCell, BiConsumer<A, E> adder, BiConsumer<A, E> subtractor, Function<A, E> sum) {
+			this.elementType = elementType;
+			this.newCell = newCell;
+			this.adder = adder;
+			this.subtractor = subtractor;
+			this.sum = sum;
+		}
+
+		@Override
+		public void add(K key, E addend) {
+			update(key, addend, adder);
+		}
+
+		@Override
+		public void sub(K key, E subtrahend) {
+			update(key, subtrahend, subtractor);
+		}
+
+		private void update(K key, E operand, BiConsumer<A, E> operation) {
+			StampedLock lock = stripe();
+			long stamp = lock.readLock();
+			try {
+				A cell = cells.get(key);
+				if (cell == null) cell = cells.computeIfAbsent(key, _ -> newCell.get());
+				operation.accept(cell, operand);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		@Override
+		public E get(Object key) {
+			A cell = cells.get(key);
+			return cell == null ? null : sum.apply(cell);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return cells.containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return cells.size();
+		}
+
+		@Override
+		E removeUnlocked(Object key) {
+			A cell = cells.remove(key);
+			return cell == null ? null : sum.apply(cell);
+		}
+
+		@Override
+		void clearUnlocked() {
+			cells.clear();
+		}
+
+		@Override
+		NumberMap<K, E> snapshotUnlocked() {
+			NumberMap<K, E> snapshot = NumberMap.newNumberMap(elementType);
+			cells.forEach((key, cell) -> snapshot.put(key, sum.apply(cell)));
+			return snapshot;
+		}
+
+	}
+
+
+}
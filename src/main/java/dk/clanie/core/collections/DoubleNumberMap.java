@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import java.util.Arrays;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Double Number Map.
+ * <p>
+ * A {@link NumberMap} alternative for <code>double</code> values which stores the
+ * values in a primitive array, so <code>addDouble(key, value)</code> neither boxes
+ * nor allocates, and only hashes the key once.
+ * </p>
+ *
+ * @param <K> key type
+ */
+public class DoubleNumberMap<K> extends PrimitiveNumberMap<K, Double> {
+
+	private double[] values;
+
+
+	public DoubleNumberMap() {
+		this(0);
+	}
+
+
+	/**
+	 * Creates a DoubleNumberMap presized to hold given number of entries without rehashing.
+	 */
+	public DoubleNumberMap(int expectedSize) {
+		super(Double.class, expectedSize);
+		values = new double[capacity()];
+	}
+
+
+	/**
+	 * Adds to the value for given key, creating the entry if absent.
+	 *
+	 * @return the new value
+	 */
+	public double addDouble(K key, double addend) {
+		int slot = insert(key);
+		return values[slot] += addend;
+	}
+
+
+	/**
+	 * Subtracts from the value for given key, creating the entry if absent.
+	 *
+	 * @return the new value
+	 */
+	public double subDouble(K key, double subtrahend) {
+		int slot = insert(key);
+		return values[slot] -= subtrahend;
+	}
+
+
+	/**
+	 * Gets the value for given key, or 0 if the key is absent.
+	 */
+	public double getDouble(Object key) {
+		return getDouble(key, 0d);
+	}
+
+
+	/**
+	 * Gets the value for given key, or {@code defaultValue} if the key is absent.
+	 */
+	public double getDouble(Object key, double defaultValue) {
+		int slot = key == null ? -1 : find(key);
+		return slot < 0 ? defaultValue : values[slot];
+	}
+
+
+	/**
+	 * Sets the value for given key.
+	 */
+	public void putDouble(K key, double value) {
+		values[insert(key)] = value;
+	}
+
+
+	/**
+	 * Performs given action for each entry in this map.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(ObjDoubleConsumer<? super K> action) {
+		Object[] keys = this.keys;
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != null) action.accept((K) keys[slot], values[slot]);
+		}
+	}
+
+
+	@Override
+	public void add(K key, Double addend) {
+		addDouble(key, addend);
+	}
+
+
+	@Override
+	public void sub(K key, Double subtrahend) {
+		subDouble(key, subtrahend);
+	}
+
+
+	@Override
+	Double valueAt(int slot) {
+		return values[slot];
+	}
+
+
+	@Override
+	void setValueAt(int slot, Double value) {
+		values[slot] = value;
+	}
+
+
+	@Override
+	void relocateValues(int[] destination, int newCapacity) {
+		double[] relocated = new double[newCapacity];
+		for (int i = 0; i < destination.length; i++) {
+			if (destination[i] >= 0) relocated[destination[i]] = values[i];
+		}
+		values = relocated;
+	}
+
+
+	@Override
+	void moveValue(int from, int to) {
+		values[to] = values[from];
+	}
+
+
+	@Override
+	void clearValue(int slot) {
+		values[slot] = 0d;
+	}
+
+
+	@Override
+	void clearValues() {
+		Arrays.fill(values, 0d);
+	}
+
+
+}
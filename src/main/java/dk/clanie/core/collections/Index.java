@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Index.
+ * <p>
+ * Read-only lookup structure mapping keys extracted from a collection of
+ * elements to the elements, built once and then queried repeatedly. Replaces
+ * repeated linear scans like <code>CollectionUtils.contains</code> and
+ * <code>anyMatching</code> inside loops.
+ * </p><p>
+ * Indexes are either hashed ({@link #of(Iterable, Function)} and {@link #unique(Iterable, Function)})
+ * or sorted ({@link #sorted(Iterable, Function)}), in which case range lookups are supported too.
+ * Multiple elements may share a key unless the index is unique; elements with the same key
+ * are kept in encounter order.
+ * </p><p>
+ * To index on several properties use a composite key, eg.
+ * <code>Index.of(orders, o -&gt; Tuple.of(o.getCustomerId(), o.getAccountId()))</code>, or
+ * {@link LongLongPair} to avoid boxing.
+ * </p><p>
+ * {@link #stats()} reports how long building the index took and roughly how much memory it uses.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <T> element type
+ *
+ * @see SortedIndex
+ */
+public abstract class Index<K, T> {
+
+	/** Estimated size of an object reference, assuming compressed oops. */
+	static final int REFERENCE_BYTES = 4;
+	/** Estimated size of an object header, assuming compressed class pointers. */
+	static final int HEADER_BYTES = 12;
+
+	/**
+	 * Index statistics.
+	 *
+	 * @param size number of elements indexed
+	 * @param keyCount number of distinct keys
+	 * @param buildTime time it took to build the index
+	 * @param estimatedBytes rough estimate of the memory used by the index itself, excluding the keys and elements
+	 */
+	public record Stats(int size, int keyCount, Duration buildTime, long estimatedBytes) {}
+
+	private final boolean unique;
+	Stats stats;
+
+
+	Index(boolean unique) {
+		this.unique = unique;
+	}
+
+
+	/**
+	 * Builds a hash index allowing multiple elements per key.
+	 *
+	 * @param iterable elements to index, may be null
+	 * @param keyExtractor function extracting the key of an element
+	 */
+	public static <K, T> Index<K, T> of(@Nullable Iterable<T> iterable, Function<? super T, ? extends K> keyExtractor) {
+		return new HashIndex<>(iterable, keyExtractor, false);
+	}
+
+
+	/**
+	 * Builds a hash index with one element per key.
+	 *
+	 * @param iterable elements to index, may be null
+	 * @param keyExtractor function extracting the key of an element
+	 * @throws IllegalArgumentException if two elements have the same key
+	 */
+	public static <K, T> Index<K, T> unique(@Nullable Iterable<T> iterable, Function<? super T, ? extends K> keyExtractor) {
+		return new HashIndex<>(iterable, keyExtractor, true);
+	}
+
+
+	/**
+	 * Builds a sorted index, ordered by the natural order of the keys, allowing multiple elements per key.
+	 *
+	 * @param iterable elements to index, may be null
+	 * @param keyExtractor function extracting the key of an element
+	 */
+	public static <K extends Comparable<? super K>, T> SortedIndex<K, T> sorted(@Nullable Iterable<T> iterable, Function<? super T, ? extends K> keyExtractor) {
+		return new SortedIndex<>(iterable, keyExtractor, Comparator.naturalOrder(), false);
+	}
+
+
+	/**
+	 * Builds a sorted index, ordered by given comparator, allowing multiple elements per key.
+	 *
+	 * @param iterable elements to index, may be null
+	 * @param keyExtractor function extracting the key of an element
+	 * @param comparator key order
+	 */
+	public static <K, T> SortedIndex<K, T> sorted(@Nullable Iterable<T> iterable, Function<? super T, ? extends K> keyExtractor, Comparator<? super K> comparator) {
+		return new SortedIndex<>(iterable, keyExtractor, comparator, false);
+	}
+
+
+	/**
+	 * Builds a sorted index, ordered by the natural order of the keys, with one element per key.
+	 *
+	 * @param iterable elements to index, may be null
+	 * @param keyExtractor function extracting the key of an element
+	 * @throws IllegalArgumentException if two elements have the same key
+	 */
+	public static <K extends Comparable<? super K>, T> SortedIndex<K, T> sortedUnique(@Nullable Iterable<T> iterable, Function<? super T, ? extends K> keyExtractor) {
+		return new SortedIndex<>(iterable, keyExtractor, Comparator.naturalOrder(), true);
+	}
+
+
+	/**
+	 * Gets the elements with given key, in encounter order.
+	 *
+	 * @return unmodifiable List, empty if no element has the key
+	 */
+	public abstract List<T> get(K key);
+
+
+	/**
+	 * Gets the first element with given key.
+	 */
+	public Optional<T> getFirst(K key) {
+		List<T> elements = get(key);
+		return elements.isEmpty() ? Optional.empty() : Optional.ofNullable(elements.get(0));
+	}
+
+
+	/**
+	 * Checks if any element has given key.
+	 */
+	public abstract boolean containsKey(K key);
+
+
+	/**
+	 * Returns the number of elements in the index.
+	 */
+	public int size() {
+		return stats.size();
+	}
+
+
+	/**
+	 * Returns the number of distinct keys in the index.
+	 */
+	public int keyCount() {
+		return stats.keyCount();
+	}
+
+
+	/**
+	 * Returns true if each key maps to a single element.
+	 */
+	public boolean isUnique() {
+		return unique;
+	}
+
+
+	/**
+	 * Returns statistics about the index, including time spent building it.
+	 */
+	public Stats stats() {
+		return stats;
+	}
+
+
+	static IllegalArgumentException duplicateKey(Object key) {
+		return new IllegalArgumentException("Duplicate key in unique index: " + key + ".");
+	}
+
+
+	/**
+	 * Hash based Index.
+	 * <p>
+	 * The map holds the element itself for keys with a single element, and
+	 * a {@link Values} list for keys with more, to save memory.
+	 * </p>
+	 */
+	private static final class HashIndex<K, T> extends Index<K, T> {
+
+		@SuppressWarnings("serial")
+		private static final class Values<T> extends ArrayList<T> {
+			Values(Object first, Object second) {
+				super(2);
+				add(cast(first));
+				add(cast(second));
+			}
+		}
+
+		private final Map<K, Object> map;
+
+		HashIndex(@Nullable Iterable<T> iterable, Function<? super T, ? extends K> keyExtractor, boolean unique) {
+			super(unique);
+			requireNonNull(keyExtractor);
+			long start = System.nanoTime();
+			map = new HashMap<>();
+			int size = 0;
+			int multiValueKeys = 0;
+			long multiValueSlots = 0;
+			if (iterable != null) {
+				for (T element : iterable) {
+					K key = keyExtractor.apply(element);
+					size++;
+					if (!map.containsKey(key)) {
+						map.put(key, element);
+					} else if (unique) {
+						throw duplicateKey(key);
+					} else {
+						Object existing = map.get(key);
+						if (existing instanceof Values<?> values) {
+							HashIndex.<Values<T>>cast(values).add(element);
+							multiValueSlots++;
+						} else {
+							map.put(key, new Values<>(existing, element));
+							multiValueKeys++;
+							multiValueSlots += 2;
+						}
+					}
+				}
+			}
+			int tableSlots = Integer.highestOneBit(Math.max(1, (int) (map.size() / 0.75f)) * 2 - 1);
+			long bytes = HEADER_BYTES + (long) tableSlots * REFERENCE_BYTES
+					+ (long) map.size() * (HEADER_BYTES + 4 + 3 * REFERENCE_BYTES) // HashMap.Node
+					+ (long) multiValueKeys * 2 * (HEADER_BYTES + 8) // Values and its array
+					+ multiValueSlots * REFERENCE_BYTES;
+			stats = new Stats(size, map.size(), Duration.ofNanos(System.nanoTime() - start), bytes);
+		}
+
+		@Override
+		public List<T> get(K key) {
+			Object value = map.get(key);
+			if (value == null && !map.containsKey(key)) return List.of();
+			if (value instanceof Values<?> values) return Collections.unmodifiableList(cast(values));
+			return Collections.singletonList(cast(value));
+		}
+
+		@Override
+		public boolean containsKey(K key) {
+			return map.containsKey(key);
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <X> X cast(Object value) {
+			return (X) value;
+		}
+
+	}
+
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+/**
+ * Pair of two <code>int</code>s.
+ * <p>
+ * Allocation light alternative to <code>Tuple.of(Integer, Integer)</code> for
+ * composite keys. See {@link LongLongPair}.
+ * </p><p>
+ * The pair can also be packed into a single <code>long</code> with
+ * {@link #pack()} or {@link #pack(int, int)}, for use as key in maps with
+ * primitive keys, like {@link OffHeapLongNumberMap}, without allocating
+ * anything at all. Packed values order like the pairs they represent, ie.
+ * <code>Long.compare(a.pack(), b.pack())</code> has the same sign as
+ * <code>a.compareTo(b)</code>.
+ * </p>
+ *
+ * @param e1 first element
+ * @param e2 second element
+ */
+public record IntIntPair(int e1, int e2) implements Comparable<IntIntPair> {
+
+
+	public static IntIntPair of(int e1, int e2) {
+		return new IntIntPair(e1, e2);
+	}
+
+
+	/**
+	 * Packs two ints into a long.
+	 * <p>
+	 * The first element goes into the high 32 bits and the second into the low
+	 * 32 bits with its sign bit flipped, so packed values order like pairs.
+	 * </p>
+	 */
+	public static long pack(int e1, int e2) {
+		return ((long) e1 << 32) | ((e2 ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+	}
+
+
+	/**
+	 * Gets the first element from a packed pair.
+	 */
+	public static int first(long packed) {
+		return (int) (packed >> 32);
+	}
+
+
+	/**
+	 * Gets the second element from a packed pair.
+	 */
+	public static int second(long packed) {
+		return (int) packed ^ Integer.MIN_VALUE;
+	}
+
+
+	/**
+	 * Unpacks a pair packed by {@link #pack(int, int)}.
+	 */
+	public static IntIntPair unpack(long packed) {
+		return new IntIntPair(first(packed), second(packed));
+	}
+
+
+	/**
+	 * Packs this pair into a long.
+	 *
+	 * @see #pack(int, int)
+	 */
+	public long pack() {
+		return pack(e1, e2);
+	}
+
+
+	/**
+	 * Returns the corresponding (boxed) Tuple.
+	 */
+	public Tuple.Pair<Integer, Integer> toTuple() {
+		return Tuple.of(e1, e2);
+	}
+
+
+	@Override
+	public int compareTo(IntIntPair other) {
+		int result = Integer.compare(e1, other.e1);
+		return result != 0 ? result : Integer.compare(e2, other.e2);
+	}
+
+
+	@Override
+	public int hashCode() {
+		return LongLongPair.mix(e1, e2);
+	}
+
+
+	@Override
+	public String toString() {
+		return "[[" + e1 + "][" + e2 + "]]";
+	}
+
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+/**
+ * Pair of an <code>int</code> and a <code>long</code>.
+ * <p>
+ * Allocation light alternative to <code>Tuple.of(Integer, Long)</code> for
+ * composite keys. See {@link LongLongPair}.
+ * </p>
+ *
+ * @param e1 first element
+ * @param e2 second element
+ */
+public record IntLongPair(int e1, long e2) implements Comparable<IntLongPair> {
+
+
+	public static IntLongPair of(int e1, long e2) {
+		return new IntLongPair(e1, e2);
+	}
+
+
+	/**
+	 * Returns the corresponding (boxed) Tuple.
+	 */
+	public Tuple.Pair<Integer, Long> toTuple() {
+		return Tuple.of(e1, e2);
+	}
+
+
+	@Override
+	public int compareTo(IntLongPair other) {
+		int result = Integer.compare(e1, other.e1);
+		return result != 0 ? result : Long.compare(e2, other.e2);
+	}
+
+
+	@Override
+	public int hashCode() {
+		return LongLongPair.mix(e1, e2);
+	}
+
+
+	@Override
+	public String toString() {
+		return "[[" + e1 + "][" + e2 + "]]";
+	}
+
+
+}
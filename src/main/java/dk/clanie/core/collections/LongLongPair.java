@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+/**
+ * Pair of two <code>long</code>s.
+ * <p>
+ * Allocation light alternative to <code>Tuple.of(Long, Long)</code> for
+ * composite keys - nothing is boxed, and the hash code is well mixed so
+ * sequential ids spread evenly in hash tables.
+ * </p><p>
+ * Ordering, equality and {@link #toString()} are consistent with those of
+ * the corresponding {@link Tuple.Pair}.
+ * </p>
+ *
+ * @param e1 first element
+ * @param e2 second element
+ */
+public record LongLongPair(long e1, long e2) implements Comparable<LongLongPair> {
+
+
+	public static LongLongPair of(long e1, long e2) {
+		return new LongLongPair(e1, e2);
+	}
+
+
+	/**
+	 * Returns the corresponding (boxed) Tuple.
+	 */
+	public Tuple.Pair<Long, Long> toTuple() {
+		return Tuple.of(e1, e2);
+	}
+
+
+	@Override
+	public int compareTo(LongLongPair other) {
+		int result = Long.compare(e1, other.e1);
+		return result != 0 ? result : Long.compare(e2, other.e2);
+	}
+
+
+	@Override
+	public int hashCode() {
+		return mix(e1, e2);
+	}
+
+
+	@Override
+	public String toString() {
+		return "[[" + e1 + "][" + e2 + "]]";
+	}
+
+
+	/**
+	 * Combines two longs into a well distributed hash code.
+	 * <p>
+	 * Uses the finalizer of MurmurHash3 so that every input bit affects every
+	 * output bit.
+	 * </p>
+	 */
+	static int mix(long a, long b) {
+		long h = a * 0x9E3779B97F4A7C15L + b;
+		h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+		h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return (int) (h ^ (h >>> 32));
+	}
+
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+/**
+ * Pair of a <code>long</code> and an object.
+ * <p>
+ * Allocation light alternative to <code>Tuple.of(Long, T)</code> for
+ * composite keys. See {@link LongLongPair}.
+ * </p><p>
+ * Like with Tuples the second element may be null, but it must be
+ * {@link Comparable} for {@link #compareTo(LongObjPair)} to work.
+ * </p>
+ *
+ * @param <T> type of the second element
+ * @param e1 first element
+ * @param e2 second element
+ */
+public record LongObjPair<T>(long e1, T e2) implements Comparable<LongObjPair<T>> {
+
+
+	public static <T> LongObjPair<T> of(long e1, T e2) {
+		return new LongObjPair<>(e1, e2);
+	}
+
+
+	/**
+	 * Returns the corresponding (boxed) Tuple.
+	 */
+	public Tuple.Pair<Long, T> toTuple() {
+		return Tuple.of(e1, e2);
+	}
+
+
+	/**
+	 * @throws ClassCastException if the second elements aren't mutually comparable.
+	 */
+	@Override
+	public int compareTo(LongObjPair<T> other) {
+		int result = Long.compare(e1, other.e1);
+		return result != 0 ? result : Tuple.compareElements(e2, other.e2);
+	}
+
+
+	@Override
+	public int hashCode() {
+		return LongLongPair.mix(e1, Tuple.hash(e2));
+	}
+
+
+	@Override
+	public String toString() {
+		return "[[" + e1 + "][" + e2 + "]]";
+	}
+
+
+}
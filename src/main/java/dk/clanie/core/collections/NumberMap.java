@@ -17,11 +17,18 @@
  */
 package dk.clanie.core.collections;
 
-import static dk.clanie.core.Utils.opt;
-
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Number Map.
@@ -36,6 +43,11 @@ import java.util.HashMap;
  *} else {
  *     map.put(value);
  *}</pre><p>with:</p><pre>map.add(key, value);</pre>
+ * <p>
+ * Each <code>add</code> and <code>sub</code> hashes the key once, but values are boxed.
+ * For high volume aggregation of primitive values see {@link LongNumberMap},
+ * {@link IntNumberMap} and {@link DoubleNumberMap}, and for BigDecimals {@link BigDecimalNumberMap}.
+ * </p>
  *
  * @author Claus Nielsen
  */
@@ -75,11 +87,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, BigDecimal>() {
 			@Override
 			public void add(K key, BigDecimal addend) {
-				put(key, opt(get(key)).orElse(BigDecimal.ZERO).add(addend));
+				compute(key, (_, sum) -> (sum == null ? BigDecimal.ZERO : sum).add(addend));
 			}
 			@Override
 			public void sub(K key, BigDecimal subtrahend) {
-				put(key, opt(get(key)).orElse(BigDecimal.ZERO).subtract(subtrahend));
+				compute(key, (_, sum) -> (sum == null ? BigDecimal.ZERO : sum).subtract(subtrahend));
 			}
 		};
 	}
@@ -95,11 +107,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, BigInteger>() {
 			@Override
 			public void add(K key, BigInteger addend) {
-				put(key, opt(get(key)).orElse(BigInteger.ZERO).add(addend));
+				compute(key, (_, sum) -> (sum == null ? BigInteger.ZERO : sum).add(addend));
 			}
 			@Override
 			public void sub(K key, BigInteger subtrahend) {
-				put(key, opt(get(key)).orElse(BigInteger.ZERO).subtract(subtrahend));
+				compute(key, (_, sum) -> (sum == null ? BigInteger.ZERO : sum).subtract(subtrahend));
 			}
 		};
 	}
@@ -115,11 +127,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, Byte>() {
 			@Override
 			public void add(K key, Byte addend) {
-				put(key, (byte)(opt(get(key)).orElse((byte)0) + addend));
+				merge(key, addend, (sum, x) -> (byte) (sum + x));
 			}
 			@Override
 			public void sub(K key, Byte subtrahend) {
-				put(key, (byte)(opt(get(key)).orElse((byte)0) - subtrahend));
+				merge(key, (byte) -subtrahend, (sum, x) -> (byte) (sum + x));
 			}
 		};
 	}
@@ -135,11 +147,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, Double>() {
 			@Override
 			public void add(K key, Double addend) {
-				put(key, opt(get(key)).orElse(0d) + addend);
+				compute(key, (_, sum) -> (sum == null ? 0d : sum) + addend);
 			}
 			@Override
 			public void sub(K key, Double subtrahend) {
-				put(key, opt(get(key)).orElse(0d) - subtrahend);
+				compute(key, (_, sum) -> (sum == null ? 0d : sum) - subtrahend);
 			}
 		};
 	}
@@ -155,11 +167,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, Float>() {
 			@Override
 			public void add(K key, Float addend) {
-				put(key, opt(get(key)).orElse(0f) + addend);
+				compute(key, (_, sum) -> (sum == null ? 0f : sum) + addend);
 			}
 			@Override
 			public void sub(K key, Float subtrahend) {
-				put(key, opt(get(key)).orElse(0f) - subtrahend);
+				compute(key, (_, sum) -> (sum == null ? 0f : sum) - subtrahend);
 			}
 		};
 	}
@@ -175,11 +187,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, Integer>() {
 			@Override
 			public void add(K key, Integer addend) {
-				put(key, opt(get(key)).orElse(0) + addend);
+				merge(key, addend, Integer::sum);
 			}
 			@Override
 			public void sub(K key, Integer subtrahend) {
-				put(key, opt(get(key)).orElse(0) - subtrahend);
+				merge(key, -subtrahend, Integer::sum);
 			}
 		};
 	}
@@ -195,11 +207,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, Long>() {
 			@Override
 			public void add(K key, Long addend) {
-				put(key, opt(get(key)).orElse(0L) + addend);
+				merge(key, addend, Long::sum);
 			}
 			@Override
 			public void sub(K key, Long subtrahend) {
-				put(key, opt(get(key)).orElse(0L) - subtrahend);
+				merge(key, -subtrahend, Long::sum);
 			}
 		};
 	}
@@ -215,11 +227,11 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 		return new NumberMap<K, Short>() {
 			@Override
 			public void add(K key, Short addend) {
-				put(key, (short) (opt(get(key)).orElse((short) 0) + addend));
+				merge(key, addend, (sum, x) -> (short) (sum + x));
 			}
 			@Override
 			public void sub(K key, Short subtrahend) {
-				put(key, (short) (opt(get(key)).orElse((short) 0) - subtrahend));
+				merge(key, (short) -subtrahend, (sum, x) -> (short) (sum + x));
 			}
 		};
 	}
@@ -247,4 +259,130 @@ public abstract class NumberMap<K, E extends Number> extends HashMap<K, E> {
 	public abstract void sub(K key, E addend);
 
 
+	/**
+	 * Adds all the Numbers in given map to the corresponding Numbers in this map.
+	 *
+	 * @param other
+	 */
+	public void mergeFrom(Map<? extends K, ? extends E> other) {
+		other.forEach(this::add);
+	}
+
+
+	/**
+	 * Adds all the Numbers in given maps to the corresponding Numbers in this map.
+	 * <p>
+	 * The given maps are first merged pairwise in parallel (a tree reduction in
+	 * the common ForkJoinPool), and the result is then merged into this map.
+	 * The given maps are not modified.
+	 * </p>
+	 *
+	 * @param maps
+	 */
+	public void mergeAll(Collection<? extends NumberMap<K, E>> maps) {
+		List<? extends NumberMap<K, E>> list = List.copyOf(maps);
+		if (list.isEmpty()) return;
+		if (list.size() == 1) mergeFrom(list.get(0));
+		else mergeFrom(ForkJoinPool.commonPool().invoke(new MergeTask<>(list, 0, list.size())).map());
+	}
+
+
+	/**
+	 * Gets the {@code k} entries with the greatest Numbers according to given comparator,
+	 * greatest first.
+	 * <p>
+	 * Uses a bounded heap, so it takes O(n log k) time and O(k) extra space.
+	 * </p>
+	 *
+	 * @param k maximum number of entries to return
+	 * @param comparator
+	 * @return List of up to {@code k} entries (unmodifiable)
+	 */
+	public List<KeyValuePair<K, E>> topK(int k, Comparator<? super E> comparator) {
+		if (k < 0) throw new IllegalArgumentException("Negative k: " + k);
+		if (k == 0 || isEmpty()) return List.of();
+		Comparator<Map.Entry<K, E>> byValue = Map.Entry.comparingByValue(comparator);
+		PriorityQueue<Map.Entry<K, E>> heap = new PriorityQueue<>(Math.min(k, size()), byValue);
+		for (Map.Entry<K, E> entry : entrySet()) {
+			if (heap.size() < k) {
+				heap.add(entry);
+			} else if (byValue.compare(entry, heap.peek()) > 0) {
+				heap.poll();
+				heap.add(entry);
+			}
+		}
+		List<KeyValuePair<K, E>> result = new ArrayList<>(heap.size());
+		while (!heap.isEmpty()) {
+			Map.Entry<K, E> entry = heap.poll();
+			result.add(new KeyValuePair<>(entry.getKey(), entry.getValue()));
+		}
+		return List.copyOf(result.reversed());
+	}
+
+
+	/**
+	 * Gets all entries sorted by their Numbers according to given comparator.
+	 * <p>
+	 * Large maps are sorted in parallel.
+	 * </p>
+	 *
+	 * @param comparator
+	 * @return List of all entries (unmodifiable)
+	 */
+	@SuppressWarnings("unchecked")
+	public List<KeyValuePair<K, E>> sortedByValue(Comparator<? super E> comparator) {
+		KeyValuePair<K, E>[] entries = new KeyValuePair[size()];
+		int i = 0;
+		for (Map.Entry<K, E> entry : entrySet()) {
+			entries[i++] = new KeyValuePair<>(entry.getKey(), entry.getValue());
+		}
+		Arrays.parallelSort(entries, Comparator.comparing(KeyValuePair::v, comparator));
+		return List.of(entries);
+	}
+
+
+	/**
+	 * Pairwise merge of a range of NumberMaps.
+	 */
+	@SuppressWarnings("serial")
+	private static final class MergeTask<K, E extends Number> extends RecursiveTask<MergeTask.Partial<K, E>> {
+
+		/** Partial result; {@code owned} if the map is a copy which may be modified. */
+		record Partial<K, E extends Number>(NumberMap<K, E> map, boolean owned) {}
+
+		private final List<? extends NumberMap<K, E>> maps;
+		private final int from;
+		private final int to;
+
+		MergeTask(List<? extends NumberMap<K, E>> maps, int from, int to) {
+			this.maps = maps;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected Partial<K, E> compute() {
+			if (to - from == 1) return new Partial<>(maps.get(from), false);
+			int middle = (from + to) >>> 1;
+			MergeTask<K, E> leftTask = new MergeTask<>(maps, from, middle);
+			leftTask.fork();
+			Partial<K, E> right = new MergeTask<>(maps, middle, to).compute();
+			Partial<K, E> left = leftTask.join();
+			Partial<K, E> target, source;
+			if (left.owned() != right.owned()) {
+				target = left.owned() ? left : right;
+				source = left.owned() ? right : left;
+			} else {
+				target = left.map().size() >= right.map().size() ? left : right;
+				source = target == left ? right : left;
+			}
+			NumberMap<K, E> merged = target.owned() ? target.map() : (NumberMap<K, E>) target.map().clone();
+			merged.mergeFrom(source.map());
+			return new Partial<>(merged, true);
+		}
+
+	}
+
+
 }
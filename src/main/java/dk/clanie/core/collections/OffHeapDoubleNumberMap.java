@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import java.nio.file.Path;
+
+/**
+ * Off-heap Number Map from <code>long</code> keys to <code>double</code> values.
+ * <p>
+ * Replaces a <code>NumberMap&lt;Long, Double&gt;</code> where the number of keys
+ * makes a heap based map impractical. See {@link OffHeapNumberMap}.
+ * </p><p>
+ * Example:</p><pre>try (OffHeapDoubleNumberMap map = OffHeapDoubleNumberMap.open(path, 200_000_000)) {
+ *     map.addDouble(accountId, amount);
+ *}</pre>
+ */
+public class OffHeapDoubleNumberMap extends OffHeapNumberMap {
+
+
+	/**
+	 * Consumer of map entries.
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer {
+		void accept(long key, double value);
+	}
+
+
+	private OffHeapDoubleNumberMap(Path file, long expectedSize) {
+		super(DOUBLE_VALUES, file, expectedSize);
+	}
+
+
+	/**
+	 * Creates a map in off-heap memory.
+	 *
+	 * @param expectedSize number of entries the map can hold before it must be resized
+	 */
+	public static OffHeapDoubleNumberMap allocate(long expectedSize) {
+		return new OffHeapDoubleNumberMap(null, expectedSize);
+	}
+
+
+	/**
+	 * Opens a map stored in given file, creating the file if it doesn't exist.
+	 *
+	 * @param file
+	 * @param expectedSize number of entries a new map can hold before it must be resized
+	 * @throws IllegalArgumentException if the file exists but doesn't hold an OffHeapDoubleNumberMap
+	 */
+	public static OffHeapDoubleNumberMap open(Path file, long expectedSize) {
+		return new OffHeapDoubleNumberMap(file, expectedSize);
+	}
+
+
+	/**
+	 * Adds to the value for given key, creating the entry if absent.
+	 *
+	 * @return the new value
+	 */
+	public double addDouble(long key, double addend) {
+		long offset = insert(key);
+		double value = Double.longBitsToDouble(bitsAt(offset)) + addend;
+		setBitsAt(offset, Double.doubleToRawLongBits(value));
+		return value;
+	}
+
+
+	/**
+	 * Subtracts from the value for given key, creating the entry if absent.
+	 *
+	 * @return the new value
+	 */
+	public double subDouble(long key, double subtrahend) {
+		long offset = insert(key);
+		double value = Double.longBitsToDouble(bitsAt(offset)) - subtrahend;
+		setBitsAt(offset, Double.doubleToRawLongBits(value));
+		return value;
+	}
+
+
+	/**
+	 * Gets the value for given key, or 0 if the key is absent.
+	 */
+	public double getDouble(long key) {
+		return getDouble(key, 0d);
+	}
+
+
+	/**
+	 * Gets the value for given key, or {@code defaultValue} if the key is absent.
+	 */
+	public double getDouble(long key, double defaultValue) {
+		long offset = find(key);
+		return offset < 0 ? defaultValue : Double.longBitsToDouble(bitsAt(offset));
+	}
+
+
+	/**
+	 * Sets the value for given key.
+	 */
+	public void putDouble(long key, double value) {
+		setBitsAt(insert(key), Double.doubleToRawLongBits(value));
+	}
+
+
+	/**
+	 * Add to the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param addend
+	 */
+	public void add(Long key, Double addend) {
+		addDouble(key, addend);
+	}
+
+
+	/**
+	 * Subtract from the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param subtrahend
+	 */
+	public void sub(Long key, Double subtrahend) {
+		subDouble(key, subtrahend);
+	}
+
+
+	/**
+	 * Performs given action for each entry in this map.
+	 */
+	public void forEach(EntryConsumer action) {
+		forEachRaw((key, bits) -> action.accept(key, Double.longBitsToDouble(bits)));
+	}
+
+
+	/**
+	 * Copies the contents of this map to a new (on-heap) {@link NumberMap}.
+	 */
+	public NumberMap<Long, Double> toNumberMap() {
+		NumberMap<Long, Double> copy = NumberMap.newDoubleMap();
+		forEach(copy::put);
+		return copy;
+	}
+
+
+}
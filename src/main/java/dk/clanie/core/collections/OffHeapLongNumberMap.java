@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import java.nio.file.Path;
+
+/**
+ * Off-heap Number Map from <code>long</code> keys to <code>long</code> values.
+ * <p>
+ * Replaces a <code>NumberMap&lt;Long, Long&gt;</code> where the number of keys
+ * makes a heap based map impractical. See {@link OffHeapNumberMap}.
+ * </p><p>
+ * Example:</p><pre>try (OffHeapLongNumberMap map = OffHeapLongNumberMap.open(path, 200_000_000)) {
+ *     map.addLong(accountId, amount);
+ *}</pre>
+ */
+public class OffHeapLongNumberMap extends OffHeapNumberMap {
+
+
+	/**
+	 * Consumer of map entries.
+	 */
+	@FunctionalInterface
+	public interface EntryConsumer {
+		void accept(long key, long value);
+	}
+
+
+	private OffHeapLongNumberMap(Path file, long expectedSize) {
+		super(LONG_VALUES, file, expectedSize);
+	}
+
+
+	/**
+	 * Creates a map in off-heap memory.
+	 *
+	 * @param expectedSize number of entries the map can hold before it must be resized
+	 */
+	public static OffHeapLongNumberMap allocate(long expectedSize) {
+		return new OffHeapLongNumberMap(null, expectedSize);
+	}
+
+
+	/**
+	 * Opens a map stored in given file, creating the file if it doesn't exist.
+	 *
+	 * @param file
+	 * @param expectedSize number of entries a new map can hold before it must be resized
+	 * @throws IllegalArgumentException if the file exists but doesn't hold an OffHeapLongNumberMap
+	 */
+	public static OffHeapLongNumberMap open(Path file, long expectedSize) {
+		return new OffHeapLongNumberMap(file, expectedSize);
+	}
+
+
+	/**
+	 * Adds to the value for given key, creating the entry if absent.
+	 *
+	 * @return the new value
+	 */
+	public long addLong(long key, long addend) {
+		long offset = insert(key);
+		long value = bitsAt(offset) + addend;
+		setBitsAt(offset, value);
+		return value;
+	}
+
+
+	/**
+	 * Subtracts from the value for given key, creating the entry if absent.
+	 *
+	 * @return the new value
+	 */
+	public long subLong(long key, long subtrahend) {
+		long offset = insert(key);
+		long value = bitsAt(offset) - subtrahend;
+		setBitsAt(offset, value);
+		return value;
+	}
+
+
+	/**
+	 * Gets the value for given key, or 0 if the key is absent.
+	 */
+	public long getLong(long key) {
+		return getLong(key, 0L);
+	}
+
+
+	/**
+	 * Gets the value for given key, or {@code defaultValue} if the key is absent.
+	 */
+	public long getLong(long key, long defaultValue) {
+		long offset = find(key);
+		return offset < 0 ? defaultValue : bitsAt(offset);
+	}
+
+
+	/**
+	 * Sets the value for given key.
+	 */
+	public void putLong(long key, long value) {
+		setBitsAt(insert(key), value);
+	}
+
+
+	/**
+	 * Add to the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param addend
+	 */
+	public void add(Long key, Long addend) {
+		addLong(key, addend);
+	}
+
+
+	/**
+	 * Subtract from the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param subtrahend
+	 */
+	public void sub(Long key, Long subtrahend) {
+		subLong(key, subtrahend);
+	}
+
+
+	/**
+	 * Performs given action for each entry in this map.
+	 */
+	public void forEach(EntryConsumer action) {
+		forEachRaw(action::accept);
+	}
+
+
+	/**
+	 * Copies the contents of this map to a new (on-heap) {@link NumberMap}.
+	 */
+	public NumberMap<Long, Long> toNumberMap() {
+		NumberMap<Long, Long> copy = NumberMap.newLongMap();
+		forEach(copy::put);
+		return copy;
+	}
+
+
+}
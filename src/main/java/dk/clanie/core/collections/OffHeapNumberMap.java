@@ -0,0 +1,414 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import dk.clanie.exception.RuntimeIOException;
+
+/**
+ * Base class for off-heap Number Maps with <code>long</code> keys.
+ * <p>
+ * Entries are kept in an open-addressing hash table (linear probing) in a
+ * {@link MemorySegment} outside the Java heap, so even maps with hundreds of
+ * millions of entries add nothing to GC work. Each entry takes 16 bytes - a
+ * <code>long</code> key and 64 value bits - and the table is kept at most 75% full.
+ * </p><p>
+ * The table can be allocated in memory, or be a memory-mapped file which
+ * survives process restarts. Either way the memory is released by {@link #close()}.
+ * </p><p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ * @see OffHeapLongNumberMap
+ * @see OffHeapDoubleNumberMap
+ */
+public abstract class OffHeapNumberMap implements AutoCloseable {
+
+	static final int LONG_VALUES = 1;
+	static final int DOUBLE_VALUES = 2;
+
+	private static final long MAGIC = 0x636C616E69654E4DL;
+	private static final int VERSION = 1;
+
+	// Header layout
+	private static final long MAGIC_OFFSET = 0;
+	private static final long VERSION_OFFSET = 8;
+	private static final long VALUE_TYPE_OFFSET = 12;
+	private static final long CAPACITY_OFFSET = 16;
+	private static final long SIZE_OFFSET = 24;
+	private static final long ZERO_KEY_PRESENT_OFFSET = 32;
+	private static final long ZERO_KEY_VALUE_OFFSET = 40;
+	private static final long HEADER_SIZE = 64;
+
+	private static final long ENTRY_SIZE = 16;
+	private static final long MIN_CAPACITY = 16;
+	private static final double LOAD_FACTOR = 0.75;
+
+	private final int valueType;
+	private final Path file;
+	private Arena arena;
+	private FileChannel channel;
+	private MemorySegment segment;
+	private long mask;
+	private long threshold;
+	private long size;
+
+
+	/**
+	 * Creates a map in memory, or - if {@code file} is given - in a memory-mapped file.
+	 * An existing file is reopened with its contents.
+	 */
+	OffHeapNumberMap(int valueType, Path file, long expectedSize) {
+		if (expectedSize < 0) throw new IllegalArgumentException("Negative expected size: " + expectedSize);
+		this.valueType = valueType;
+		this.file = file;
+		try {
+			if (file != null && Files.exists(file) && Files.size(file) > 0) {
+				reopen();
+			} else {
+				Table table = newTable(file, tableSizeFor(expectedSize));
+				install(table);
+			}
+		} catch (IOException ioe) {
+			throw new RuntimeIOException("Failed to map " + file + ": " + ioe.getMessage(), ioe);
+		}
+	}
+
+
+	/**
+	 * Returns the number of entries in this map.
+	 */
+	public long size() {
+		return size;
+	}
+
+
+	/**
+	 * Returns true if this map contains no entries.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+
+	/**
+	 * Returns true if this map contains an entry for given key.
+	 */
+	public boolean containsKey(long key) {
+		return find(key) >= 0;
+	}
+
+
+	/**
+	 * Removes the entry for given key, if present.
+	 *
+	 * @return true if an entry was removed
+	 */
+	public boolean remove(long key) {
+		if (key == 0) {
+			if (segment.get(JAVA_LONG, ZERO_KEY_PRESENT_OFFSET) == 0) return false;
+			segment.set(JAVA_LONG, ZERO_KEY_PRESENT_OFFSET, 0L);
+			segment.set(JAVA_LONG, ZERO_KEY_VALUE_OFFSET, 0L);
+			setSize(size - 1);
+			return true;
+		}
+		long hole = findSlot(key);
+		if (hole < 0) return false;
+		long slot = hole;
+		while (true) {
+			slot = (slot + 1) & mask;
+			long k = keyAt(slot);
+			if (k == 0) break;
+			long ideal = hash(k) & mask;
+			boolean movable = hole <= slot
+					? (ideal <= hole || ideal > slot)
+					: (ideal <= hole && ideal > slot);
+			if (movable) {
+				MemorySegment.copy(segment, entryOffset(slot), segment, entryOffset(hole), ENTRY_SIZE);
+				hole = slot;
+			}
+		}
+		segment.asSlice(entryOffset(hole), ENTRY_SIZE).fill((byte) 0);
+		setSize(size - 1);
+		return true;
+	}
+
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		segment.asSlice(ZERO_KEY_PRESENT_OFFSET).fill((byte) 0);
+		setSize(0);
+	}
+
+
+	/**
+	 * Writes changes through to the file, if this map is memory-mapped.
+	 */
+	public void force() {
+		if (file != null) segment.force();
+	}
+
+
+	/**
+	 * Releases the memory of this map, after writing changes through to the file if memory-mapped.
+	 * <p>
+	 * The map cannot be used after it has been closed.
+	 * </p>
+	 */
+	@Override
+	public void close() {
+		if (arena == null) return;
+		try {
+			try {
+				force();
+			} finally {
+				try {
+					arena.close();
+				} finally {
+					if (channel != null) channel.close();
+				}
+			}
+		} catch (IOException ioe) {
+			throw new RuntimeIOException(ioe.getMessage(), ioe);
+		} finally {
+			arena = null;
+			channel = null;
+			segment = null;
+		}
+	}
+
+
+	// ***** Entry access for subclasses *****
+
+	/**
+	 * Returns the offset of the value bits for given key, or -1 if the key is absent.
+	 */
+	final long find(long key) {
+		if (key == 0) return segment.get(JAVA_LONG, ZERO_KEY_PRESENT_OFFSET) != 0 ? ZERO_KEY_VALUE_OFFSET : -1;
+		long slot = findSlot(key);
+		return slot < 0 ? -1 : entryOffset(slot) + 8;
+	}
+
+
+	/**
+	 * Returns the offset of the value bits for given key, inserting the key with
+	 * zero value bits if it is absent.
+	 */
+	final long insert(long key) {
+		if (key == 0) {
+			if (segment.get(JAVA_LONG, ZERO_KEY_PRESENT_OFFSET) == 0) {
+				segment.set(JAVA_LONG, ZERO_KEY_PRESENT_OFFSET, 1L);
+				setSize(size + 1);
+			}
+			return ZERO_KEY_VALUE_OFFSET;
+		}
+		long slot = hash(key) & mask;
+		while (true) {
+			long k = keyAt(slot);
+			if (k == key) return entryOffset(slot) + 8;
+			if (k == 0) break;
+			slot = (slot + 1) & mask;
+		}
+		segment.set(JAVA_LONG, entryOffset(slot), key);
+		setSize(size + 1);
+		if (size > threshold) {
+			grow();
+			return find(key);
+		}
+		return entryOffset(slot) + 8;
+	}
+
+
+	final long bitsAt(long valueOffset) {
+		return segment.get(JAVA_LONG, valueOffset);
+	}
+
+
+	final void setBitsAt(long valueOffset, long bits) {
+		segment.set(JAVA_LONG, valueOffset, bits);
+	}
+
+
+	/**
+	 * Consumer of raw entries.
+	 */
+	@FunctionalInterface
+	interface RawEntryConsumer {
+		void accept(long key, long bits);
+	}
+
+
+	/**
+	 * Performs given action for each entry, passing the raw value bits.
+	 */
+	final void forEachRaw(RawEntryConsumer action) {
+		if (segment.get(JAVA_LONG, ZERO_KEY_PRESENT_OFFSET) != 0) {
+			action.accept(0L, segment.get(JAVA_LONG, ZERO_KEY_VALUE_OFFSET));
+		}
+		long capacity = mask + 1;
+		for (long slot = 0; slot < capacity; slot++) {
+			long k = keyAt(slot);
+			if (k != 0) action.accept(k, segment.get(JAVA_LONG, entryOffset(slot) + 8));
+		}
+	}
+
+
+	// ***** Hash table *****
+
+	private long findSlot(long key) {
+		long slot = hash(key) & mask;
+		while (true) {
+			long k = keyAt(slot);
+			if (k == key) return slot;
+			if (k == 0) return -1;
+			slot = (slot + 1) & mask;
+		}
+	}
+
+
+	private long keyAt(long slot) {
+		return segment.get(JAVA_LONG, entryOffset(slot));
+	}
+
+
+	private void setSize(long size) {
+		this.size = size;
+		segment.set(JAVA_LONG, SIZE_OFFSET, size);
+	}
+
+
+	private void grow() {
+		long oldCapacity = mask + 1;
+		MemorySegment old = segment;
+		Path resizeFile = file == null ? null : file.resolveSibling(file.getFileName() + ".resize");
+		try {
+			Table table = newTable(resizeFile, oldCapacity << 1);
+			MemorySegment.copy(old, ZERO_KEY_PRESENT_OFFSET, table.segment(), ZERO_KEY_PRESENT_OFFSET, HEADER_SIZE - ZERO_KEY_PRESENT_OFFSET);
+			table.segment().set(JAVA_LONG, SIZE_OFFSET, size);
+			long newMask = (oldCapacity << 1) - 1;
+			for (long slot = 0; slot < oldCapacity; slot++) {
+				long k = old.get(JAVA_LONG, entryOffset(slot));
+				if (k == 0) continue;
+				long to = hash(k) & newMask;
+				while (table.segment().get(JAVA_LONG, entryOffset(to)) != 0) to = (to + 1) & newMask;
+				MemorySegment.copy(old, entryOffset(slot), table.segment(), entryOffset(to), ENTRY_SIZE);
+			}
+			Arena oldArena = arena;
+			FileChannel oldChannel = channel;
+			install(table);
+			oldArena.close();
+			if (oldChannel != null) {
+				oldChannel.close();
+				segment.force();
+				Files.move(resizeFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+			}
+		} catch (IOException ioe) {
+			throw new RuntimeIOException("Failed to resize " + file + ": " + ioe.getMessage(), ioe);
+		}
+	}
+
+
+	/**
+	 * An arena with its table segment, and, if memory-mapped, the channel of the mapped file.
+	 */
+	private record Table(Arena arena, FileChannel channel, MemorySegment segment) {}
+
+
+	private Table newTable(Path file, long capacity) throws IOException {
+		long bytes = HEADER_SIZE + capacity * ENTRY_SIZE;
+		Arena arena = Arena.ofShared();
+		FileChannel channel = null;
+		MemorySegment segment;
+		if (file == null) {
+			segment = arena.allocate(bytes, Long.BYTES);
+		} else {
+			channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+			segment = channel.map(READ_WRITE, 0, bytes, arena);
+		}
+		segment.set(JAVA_LONG, MAGIC_OFFSET, MAGIC);
+		segment.set(JAVA_INT, VERSION_OFFSET, VERSION);
+		segment.set(JAVA_INT, VALUE_TYPE_OFFSET, valueType);
+		segment.set(JAVA_LONG, CAPACITY_OFFSET, capacity);
+		return new Table(arena, channel, segment);
+	}
+
+
+	private void reopen() throws IOException {
+		Arena arena = Arena.ofShared();
+		FileChannel channel = FileChannel.open(file, READ, WRITE);
+		MemorySegment segment = channel.map(READ_WRITE, 0, channel.size(), arena);
+		if (segment.byteSize() < HEADER_SIZE
+				|| segment.get(JAVA_LONG, MAGIC_OFFSET) != MAGIC
+				|| segment.get(JAVA_INT, VERSION_OFFSET) != VERSION
+				|| segment.get(JAVA_INT, VALUE_TYPE_OFFSET) != valueType
+				|| segment.byteSize() != HEADER_SIZE + segment.get(JAVA_LONG, CAPACITY_OFFSET) * ENTRY_SIZE) {
+			arena.close();
+			channel.close();
+			throw new IllegalArgumentException("Not a " + getClass().getSimpleName() + " file: " + file);
+		}
+		install(new Table(arena, channel, segment));
+	}
+
+
+	private void install(Table table) {
+		long capacity = table.segment().get(JAVA_LONG, CAPACITY_OFFSET);
+		arena = table.arena();
+		channel = table.channel();
+		segment = table.segment();
+		mask = capacity - 1;
+		threshold = (long) (capacity * LOAD_FACTOR);
+		size = segment.get(JAVA_LONG, SIZE_OFFSET);
+	}
+
+
+	private static long entryOffset(long slot) {
+		return HEADER_SIZE + slot * ENTRY_SIZE;
+	}
+
+
+	private static long hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 32);
+	}
+
+
+	private static long tableSizeFor(long expectedSize) {
+		long needed = (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1;
+		return Math.max(MIN_CAPACITY, Long.highestOneBit(needed - 1) << 1);
+	}
+
+
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Base class for the primitive specializations of {@link NumberMap}.
+ * <p>
+ * Keys are kept in an open-addressing hash table (linear probing) and the
+ * values in a parallel array of primitives maintained by the subclass, so
+ * adding to a value takes a single hash probe and allocates nothing.
+ * </p><p>
+ * Null keys are not supported.
+ * </p><p>
+ * Use {@link #asMap()} where a <code>Map</code> is needed, or
+ * {@link #toNumberMap()} to get an ordinary <code>NumberMap</code> copy.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <E> boxed element type
+ *
+ * @see LongNumberMap
+ * @see IntNumberMap
+ * @see DoubleNumberMap
+ * @see BigDecimalNumberMap
+ */
+public abstract class PrimitiveNumberMap<K, E extends Number> {
+
+	private static final int MIN_CAPACITY = 8;
+	private static final int MAX_CAPACITY = 1 << 30;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private final Class<E> elementType;
+
+	Object[] keys;
+	int size;
+	private int mask;
+	private int threshold;
+	private Map<K, E> mapView;
+
+
+	PrimitiveNumberMap(Class<E> elementType, int expectedSize) {
+		if (expectedSize < 0) throw new IllegalArgumentException("Negative expected size: " + expectedSize);
+		this.elementType = elementType;
+		initTable(tableSizeFor(expectedSize));
+	}
+
+
+	/**
+	 * Add to the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param addend
+	 */
+	public abstract void add(K key, E addend);
+
+
+	/**
+	 * Subtract from the Number specified.
+	 *
+	 * If the Map doesn't contain an entry with the specified key it is created.
+	 *
+	 * @param key
+	 * @param subtrahend
+	 */
+	public abstract void sub(K key, E subtrahend);
+
+
+	/**
+	 * Returns the number of entries in this map.
+	 */
+	public int size() {
+		return size;
+	}
+
+
+	/**
+	 * Returns true if this map contains no entries.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+
+	/**
+	 * Returns true if this map contains an entry for given key.
+	 */
+	public boolean containsKey(Object key) {
+		return key != null && find(key) >= 0;
+	}
+
+
+	/**
+	 * Removes the entry for given key, if present.
+	 *
+	 * @return true if an entry was removed
+	 */
+	public boolean remove(Object key) {
+		int slot = key == null ? -1 : find(key);
+		if (slot < 0) return false;
+		removeAt(slot);
+		return true;
+	}
+
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		Arrays.fill(keys, null);
+		clearValues();
+		size = 0;
+	}
+
+
+	/**
+	 * Returns a live <code>Map</code> view of this map.
+	 * <p>
+	 * Values are boxed on access. The view supports <code>get</code>, <code>put</code>,
+	 * <code>remove</code> and <code>clear</code>, but not removal through its iterators.
+	 * </p>
+	 */
+	public Map<K, E> asMap() {
+		if (mapView == null) mapView = new MapView();
+		return mapView;
+	}
+
+
+	/**
+	 * Copies the contents of this map to a new {@link NumberMap}.
+	 */
+	@SuppressWarnings("unchecked")
+	public NumberMap<K, E> toNumberMap() {
+		NumberMap<K, E> copy = NumberMap.newNumberMap(elementType);
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != null) copy.put((K) keys[slot], valueAt(slot));
+		}
+		return copy;
+	}
+
+
+	@Override
+	public String toString() {
+		return asMap().toString();
+	}
+
+
+	// ***** Value array hooks implemented by subclasses *****
+
+	/** Returns the value in given slot, boxed. */
+	abstract E valueAt(int slot);
+
+	/** Stores a boxed value in given slot. */
+	abstract void setValueAt(int slot, E value);
+
+	/** Allocates a new, zeroed, value array of given capacity, moving each value from slot i to slot destination[i] (unless negative). */
+	abstract void relocateValues(int[] destination, int newCapacity);
+
+	/** Moves the value in slot from to slot to. */
+	abstract void moveValue(int from, int to);
+
+	/** Zeroes the value in given slot. */
+	abstract void clearValue(int slot);
+
+	/** Zeroes all values. */
+	abstract void clearValues();
+
+
+	// ***** Hash table *****
+
+	/**
+	 * Returns the slot holding given key, or -1 if the key is absent.
+	 */
+	final int find(Object key) {
+		Object[] keys = this.keys;
+		int slot = hash(key) & mask;
+		Object k;
+		while ((k = keys[slot]) != null) {
+			if (k.equals(key)) return slot;
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Returns the slot holding given key, inserting the key with a zero value if it is absent.
+	 */
+	final int insert(K key) {
+		requireNonNull(key, "Null keys are not supported.");
+		Object[] keys = this.keys;
+		int slot = hash(key) & mask;
+		Object k;
+		while ((k = keys[slot]) != null) {
+			if (k.equals(key)) return slot;
+			slot = (slot + 1) & mask;
+		}
+		if (size >= threshold && keys.length >= MAX_CAPACITY) throw new IllegalStateException("Map is full.");
+		keys[slot] = key;
+		if (++size > threshold) {
+			rehash(keys.length << 1);
+			return find(key);
+		}
+		return slot;
+	}
+
+
+	/**
+	 * Removes the entry in given slot, shifting following entries of the same
+	 * probe sequence back so no tombstones are needed.
+	 */
+	final void removeAt(int hole) {
+		Object[] keys = this.keys;
+		int slot = hole;
+		while (true) {
+			slot = (slot + 1) & mask;
+			Object k = keys[slot];
+			if (k == null) break;
+			int ideal = hash(k) & mask;
+			boolean movable = hole <= slot
+					? (ideal <= hole || ideal > slot)
+					: (ideal <= hole && ideal > slot);
+			if (movable) {
+				keys[hole] = k;
+				moveValue(slot, hole);
+				hole = slot;
+			}
+		}
+		keys[hole] = null;
+		clearValue(hole);
+		size--;
+	}
+
+
+	private void rehash(int newCapacity) {
+		Object[] oldKeys = keys;
+		int[] destination = new int[oldKeys.length];
+		initTable(newCapacity);
+		Object[] keys = this.keys;
+		for (int i = 0; i < oldKeys.length; i++) {
+			Object k = oldKeys[i];
+			if (k == null) {
+				destination[i] = -1;
+				continue;
+			}
+			int slot = hash(k) & mask;
+			while (keys[slot] != null) slot = (slot + 1) & mask;
+			keys[slot] = k;
+			destination[i] = slot;
+		}
+		relocateValues(destination, newCapacity);
+	}
+
+
+	private void initTable(int capacity) {
+		keys = new Object[capacity];
+		mask = capacity - 1;
+		threshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+
+	final int capacity() {
+		return keys.length;
+	}
+
+
+	private static int hash(Object key) {
+		int h = key.hashCode() * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+
+	private static int tableSizeFor(int expectedSize) {
+		long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+		if (needed >= MAX_CAPACITY) return MAX_CAPACITY;
+		return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+	}
+
+
+	// ***** Map view *****
+
+	private class MapView extends AbstractMap<K, E> {
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return PrimitiveNumberMap.this.containsKey(key);
+		}
+
+		@Override
+		public E get(Object key) {
+			int slot = key == null ? -1 : find(key);
+			return slot < 0 ? null : valueAt(slot);
+		}
+
+		@Override
+		public E put(K key, E value) {
+			requireNonNull(value, "Null values are not supported.");
+			int slot = find(requireNonNull(key, "Null keys are not supported."));
+			if (slot >= 0) {
+				E previous = valueAt(slot);
+				setValueAt(slot, value);
+				return previous;
+			}
+			setValueAt(insert(key), value);
+			return null;
+		}
+
+		@Override
+		public E remove(Object key) {
+			int slot = key == null ? -1 : find(key);
+			if (slot < 0) return null;
+			E previous = valueAt(slot);
+			removeAt(slot);
+			return previous;
+		}
+
+		@Override
+		public void clear() {
+			PrimitiveNumberMap.this.clear();
+		}
+
+		@Override
+		public Set<Entry<K, E>> entrySet() {
+			return new AbstractSet<>() {
+				@Override
+				public int size() {
+					return size;
+				}
+				@Override
+				public Iterator<Entry<K, E>> iterator() {
+					return new EntryIterator();
+				}
+			};
+		}
+
+	}
+
+
+	private class EntryIterator implements Iterator<Map.Entry<K, E>> {
+
+		private int next = advance(0);
+
+		private int advance(int from) {
+			Object[] keys = PrimitiveNumberMap.this.keys;
+			while (from < keys.length && keys[from] == null) from++;
+			return from;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map.Entry<K, E> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			int slot = next;
+			next = advance(slot + 1);
+			return new AbstractMap.SimpleEntry<>((K) keys[slot], valueAt(slot)) {
+				private static final long serialVersionUID = 1L;
+				@Override
+				public E setValue(E value) {
+					setValueAt(slot, requireNonNull(value, "Null values are not supported."));
+					return super.setValue(value);
+				}
+			};
+		}
+
+	}
+
+
+}
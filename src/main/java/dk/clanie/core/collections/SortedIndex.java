@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Sorted Index.
+ * <p>
+ * An {@link Index} keeping the keys sorted, in a pair of arrays searched
+ * by binary search, which additionally supports range lookups.
+ * </p><p>
+ * Create instances with {@link Index#sorted(Iterable, Function)} or one of its siblings.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <T> element type
+ */
+public final class SortedIndex<K, T> extends Index<K, T> {
+
+	private final Comparator<? super K> comparator;
+	private final Object[] keys;
+	private final Object[] elements;
+
+
+	SortedIndex(@Nullable Iterable<T> iterable, Function<? super T, ? extends K> keyExtractor, Comparator<? super K> comparator, boolean unique) {
+		super(unique);
+		requireNonNull(keyExtractor);
+		this.comparator = requireNonNull(comparator);
+		long start = System.nanoTime();
+		List<KeyValuePair<K, T>> entries = new ArrayList<>();
+		if (iterable != null) {
+			for (T element : iterable) entries.add(new KeyValuePair<>(keyExtractor.apply(element), element));
+		}
+		// List.sort is stable, so elements with equal keys stay in encounter order
+		entries.sort(Comparator.comparing(KeyValuePair::k, comparator));
+		int size = entries.size();
+		keys = new Object[size];
+		elements = new Object[size];
+		int keyCount = 0;
+		for (int i = 0; i < size; i++) {
+			KeyValuePair<K, T> entry = entries.get(i);
+			if (i == 0 || comparator.compare(keyAt(i - 1), entry.k()) != 0) {
+				keyCount++;
+			} else if (unique) {
+				throw duplicateKey(entry.k());
+			}
+			keys[i] = entry.k();
+			elements[i] = entry.v();
+		}
+		long bytes = 2 * (HEADER_BYTES + 4 + (long) size * REFERENCE_BYTES);
+		stats = new Stats(size, keyCount, Duration.ofNanos(System.nanoTime() - start), bytes);
+	}
+
+
+	@Override
+	public List<T> get(K key) {
+		return slice(lowerBound(key), upperBound(key));
+	}
+
+
+	@Override
+	public boolean containsKey(K key) {
+		int index = lowerBound(key);
+		return index < keys.length && comparator.compare(keyAt(index), key) == 0;
+	}
+
+
+	/**
+	 * Gets the elements with keys in the given range, ordered by key.
+	 *
+	 * @param from low end of the range
+	 * @param fromInclusive true if elements with key equal to {@code from} are included
+	 * @param to high end of the range
+	 * @param toInclusive true if elements with key equal to {@code to} are included
+	 * @return unmodifiable List
+	 */
+	public List<T> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+		int fromIndex = fromInclusive ? lowerBound(from) : upperBound(from);
+		int toIndex = toInclusive ? upperBound(to) : lowerBound(to);
+		return slice(fromIndex, toIndex);
+	}
+
+
+	/**
+	 * Gets the elements with keys less than (or equal to, if {@code inclusive}) given key, ordered by key.
+	 *
+	 * @return unmodifiable List
+	 */
+	public List<T> headList(K to, boolean inclusive) {
+		return slice(0, inclusive ? upperBound(to) : lowerBound(to));
+	}
+
+
+	/**
+	 * Gets the elements with keys greater than (or equal to, if {@code inclusive}) given key, ordered by key.
+	 *
+	 * @return unmodifiable List
+	 */
+	public List<T> tailList(K from, boolean inclusive) {
+		return slice(inclusive ? lowerBound(from) : upperBound(from), elements.length);
+	}
+
+
+	/**
+	 * Gets the smallest key in the index.
+	 */
+	public Optional<K> firstKey() {
+		return keys.length == 0 ? Optional.empty() : Optional.ofNullable(keyAt(0));
+	}
+
+
+	/**
+	 * Gets the greatest key in the index.
+	 */
+	public Optional<K> lastKey() {
+		return keys.length == 0 ? Optional.empty() : Optional.ofNullable(keyAt(keys.length - 1));
+	}
+
+
+	/**
+	 * Returns all elements ordered by key.
+	 *
+	 * @return unmodifiable List
+	 */
+	public List<T> values() {
+		return slice(0, elements.length);
+	}
+
+
+	/**
+	 * Returns the index of the first key not less than given key.
+	 */
+	private int lowerBound(K key) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparator.compare(keyAt(mid), key) < 0) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+
+	/**
+	 * Returns the index of the first key greater than given key.
+	 */
+	private int upperBound(K key) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparator.compare(keyAt(mid), key) <= 0) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private K keyAt(int index) {
+		return (K) keys[index];
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private List<T> slice(int fromIndex, int toIndex) {
+		if (fromIndex >= toIndex) return List.of();
+		return Collections.unmodifiableList((List<T>) Arrays.asList(elements).subList(fromIndex, toIndex));
+	}
+
+
+}
@@ -17,6 +17,10 @@
  */
 package dk.clanie.core.collections;
 
+import static java.util.Objects.requireNonNull;
+
+import java.util.Comparator;
+
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
@@ -33,16 +37,21 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  * If you need that you will have to use a more specific subclass like this:
  * </p><p>
  * <code>Triple&lt;String, Integer, String&gt; myTuple = newTuple("one", 2, "three");</code>
+ * </p><p>
+ * Tuples are immutable (provided their elements are) and cache their hash code.
  * </p>
  * @author Claus Nielsen
  */
 public abstract class Tuple implements Comparable<Tuple> {
 
 
+	private int hash; // Cached hash code, 0 until computed
+
+
 	/** Tuple with one element. */
 	public static class Singleton<T> extends Tuple {
 		
-		private T element;
+		private final T element;
 
 		@SuppressFBWarnings(value = "SING_SINGLETON_HAS_NONPRIVATE_CONSTRUCTOR", justification = "Not using singleton-pattern.")
 		public Singleton(T element) {
@@ -53,17 +62,17 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return element;
 		}
 
-		@SuppressWarnings("rawtypes")
 		@Override
 		public boolean equals(Object o) {
-			if (o == null) return false;
-			if (!(getClass() == o.getClass())) return false;
-			return elementsEquals(element, ((Singleton) o).element);
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Singleton<?> other = (Singleton<?>) o;
+			return elementsEquals(get1st(), other.get1st());
 		}
 
 		@Override
-		public int hashCode() {
-			return element == null ? 0 : element.hashCode();
+		protected int computeHashCode() {
+			return hash(get1st());
 		}
 
 		@Override
@@ -71,11 +80,10 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return builder.append("[").append(element).append("]");
 		}
 
-		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		protected int compareItems(Tuple other) {
-			if (!(other instanceof Singleton)) return 1; // Other is shorter
-			return ((Comparable) element).compareTo(((Singleton) other).element);
+			if (!(other instanceof Singleton<?> o1)) return 1; // Other is shorter
+			return compareElements(get1st(), o1.get1st());
 		}
 	}
 
@@ -83,7 +91,7 @@ public abstract class Tuple implements Comparable<Tuple> {
 	/** Tuple with two elements. */
 	public static class Pair<T1, T2> extends Singleton<T1> {
 
-		private T2 e2;
+		private final T2 e2;
 
 		public Pair(T1 e1, T2 e2) {
 			super(e1);
@@ -94,15 +102,17 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return e2;
 		}
 
-		@SuppressWarnings("rawtypes")
 		@Override
 		public boolean equals(Object o) {
-			return super.equals(o) && elementsEquals(e2, ((Pair) o).e2);
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Pair<?, ?> other = (Pair<?, ?>) o;
+			return elementsEquals(get1st(), other.get1st()) && elementsEquals(get2nd(), other.get2nd());
 		}
 
 		@Override
-		public int hashCode() {
-			return super.hashCode() * 37 + (e2 == null ? 0 : e2.hashCode());
+		protected int computeHashCode() {
+			return hash(get1st()) * 37 + hash(get2nd());
 		}
 
 		@Override
@@ -110,13 +120,13 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return super.appendItems(builder).append("[").append(e2).append("]");
 		}
 
-		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		protected int compareItems(Tuple other) {
-			int result = super.compareItems(other);
+			if (!(other instanceof Singleton<?> o1)) return 1; // Other is shorter
+			int result = compareElements(get1st(), o1.get1st());
 			if (result != 0) return result;
-			if (!(other instanceof Pair)) return 1; // Other is shorter
-			return ((Comparable) e2).compareTo(((Pair) other).e2);
+			if (!(other instanceof Pair<?, ?> o2)) return 1; // Other is shorter
+			return compareElements(get2nd(), o2.get2nd());
 		}
 	}
 
@@ -124,7 +134,7 @@ public abstract class Tuple implements Comparable<Tuple> {
 	/** Tuple with three elements. */
 	public static class Triple<T1, T2, T3> extends Pair<T1, T2> {
 
-		private T3 e3;
+		private final T3 e3;
 
 		public Triple(T1 e1, T2 e2, T3 e3) {
 			super(e1, e2);
@@ -135,15 +145,17 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return e3;
 		}
 
-		@SuppressWarnings("rawtypes")
 		@Override
 		public boolean equals(Object o) {
-			return super.equals(o) && elementsEquals(e3, ((Triple) o).e3);
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Triple<?, ?, ?> other = (Triple<?, ?, ?>) o;
+			return elementsEquals(get1st(), other.get1st()) && elementsEquals(get2nd(), other.get2nd()) && elementsEquals(get3rd(), other.get3rd());
 		}
 
 		@Override
-		public int hashCode() {
-			return super.hashCode() * 37 + (e3 == null ? 0 : e3.hashCode());
+		protected int computeHashCode() {
+			return (hash(get1st()) * 37 + hash(get2nd())) * 37 + hash(get3rd());
 		}
 
 		@Override
@@ -151,13 +163,16 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return super.appendItems(builder).append("[").append(e3).append("]");
 		}
 
-		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		protected int compareItems(Tuple other) {
-			int result = super.compareItems(other);
+			if (!(other instanceof Singleton<?> o1)) return 1; // Other is shorter
+			int result = compareElements(get1st(), o1.get1st());
 			if (result != 0) return result;
-			if (!(other instanceof Triple)) return 1; // Other is shorter
-			return ((Comparable) e3).compareTo(((Triple) other).e3);
+			if (!(other instanceof Pair<?, ?> o2)) return 1; // Other is shorter
+			result = compareElements(get2nd(), o2.get2nd());
+			if (result != 0) return result;
+			if (!(other instanceof Triple<?, ?, ?> o3)) return 1; // Other is shorter
+			return compareElements(get3rd(), o3.get3rd());
 		}
 	}
 
@@ -165,7 +180,7 @@ public abstract class Tuple implements Comparable<Tuple> {
 	/** Tuple with four elements. */
 	public static class Quadruple<T1, T2, T3, T4> extends Triple<T1, T2, T3> {
 
-		private T4 e4;
+		private final T4 e4;
 
 		public Quadruple(T1 e1, T2 e2, T3 e3, T4 e4) {
 			super(e1, e2, e3);
@@ -176,15 +191,17 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return e4;
 		}
 
-		@SuppressWarnings("rawtypes")
 		@Override
 		public boolean equals(Object o) {
-			return super.equals(o) && elementsEquals(e4, ((Quadruple) o).e4);
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Quadruple<?, ?, ?, ?> other = (Quadruple<?, ?, ?, ?>) o;
+			return elementsEquals(get1st(), other.get1st()) && elementsEquals(get2nd(), other.get2nd()) && elementsEquals(get3rd(), other.get3rd()) && elementsEquals(get4th(), other.get4th());
 		}
 
 		@Override
-		public int hashCode() {
-			return super.hashCode() * 37 + (e4 == null ? 0 : e4.hashCode());
+		protected int computeHashCode() {
+			return ((hash(get1st()) * 37 + hash(get2nd())) * 37 + hash(get3rd())) * 37 + hash(get4th());
 		}
 
 		@Override
@@ -192,13 +209,19 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return super.appendItems(builder).append("[").append(e4).append("]");
 		}
 
-		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		protected int compareItems(Tuple other) {
-			int result = super.compareItems(other);
+			if (!(other instanceof Singleton<?> o1)) return 1; // Other is shorter
+			int result = compareElements(get1st(), o1.get1st());
+			if (result != 0) return result;
+			if (!(other instanceof Pair<?, ?> o2)) return 1; // Other is shorter
+			result = compareElements(get2nd(), o2.get2nd());
 			if (result != 0) return result;
-			if (!(other instanceof Quadruple)) return 1; // Other is shorter
-			return ((Comparable) e4).compareTo(((Quadruple) other).e4);
+			if (!(other instanceof Triple<?, ?, ?> o3)) return 1; // Other is shorter
+			result = compareElements(get3rd(), o3.get3rd());
+			if (result != 0) return result;
+			if (!(other instanceof Quadruple<?, ?, ?, ?> o4)) return 1; // Other is shorter
+			return compareElements(get4th(), o4.get4th());
 		}
 
 	}
@@ -207,7 +230,7 @@ public abstract class Tuple implements Comparable<Tuple> {
 	/** Tuple with five elements. */
 	public static class Quintuple<T1, T2, T3, T4, T5> extends Quadruple<T1, T2, T3, T4> {
 
-		private T5 e5;
+		private final T5 e5;
 
 		public Quintuple(T1 e1, T2 e2, T3 e3, T4 e4, T5 e5) {
 			super(e1, e2, e3, e4);
@@ -218,15 +241,17 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return e5;
 		}
 
-		@SuppressWarnings("rawtypes")
 		@Override
 		public boolean equals(Object o) {
-			return super.equals(o) && elementsEquals(e5, ((Quintuple) o).e5);
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Quintuple<?, ?, ?, ?, ?> other = (Quintuple<?, ?, ?, ?, ?>) o;
+			return elementsEquals(get1st(), other.get1st()) && elementsEquals(get2nd(), other.get2nd()) && elementsEquals(get3rd(), other.get3rd()) && elementsEquals(get4th(), other.get4th()) && elementsEquals(get5th(), other.get5th());
 		}
 
 		@Override
-		public int hashCode() {
-			return super.hashCode() * 37 + (e5 == null ? 0 : e5.hashCode());
+		protected int computeHashCode() {
+			return (((hash(get1st()) * 37 + hash(get2nd())) * 37 + hash(get3rd())) * 37 + hash(get4th())) * 37 + hash(get5th());
 		}
 
 		@Override
@@ -234,13 +259,22 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return super.appendItems(builder).append("[").append(e5).append("]");
 		}
 
-		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		protected int compareItems(Tuple other) {
-			int result = super.compareItems(other);
+			if (!(other instanceof Singleton<?> o1)) return 1; // Other is shorter
+			int result = compareElements(get1st(), o1.get1st());
+			if (result != 0) return result;
+			if (!(other instanceof Pair<?, ?> o2)) return 1; // Other is shorter
+			result = compareElements(get2nd(), o2.get2nd());
 			if (result != 0) return result;
-			if (!(other instanceof Quintuple)) return 1; // Other is shorter
-			return ((Comparable) e5).compareTo(((Quintuple) other).e5);
+			if (!(other instanceof Triple<?, ?, ?> o3)) return 1; // Other is shorter
+			result = compareElements(get3rd(), o3.get3rd());
+			if (result != 0) return result;
+			if (!(other instanceof Quadruple<?, ?, ?, ?> o4)) return 1; // Other is shorter
+			result = compareElements(get4th(), o4.get4th());
+			if (result != 0) return result;
+			if (!(other instanceof Quintuple<?, ?, ?, ?, ?> o5)) return 1; // Other is shorter
+			return compareElements(get5th(), o5.get5th());
 		}
 
 	}
@@ -249,7 +283,7 @@ public abstract class Tuple implements Comparable<Tuple> {
 	/** Tuple with six elements. */
 	public static class Sextuple<T1, T2, T3, T4, T5, T6> extends Quintuple<T1, T2, T3, T4, T5> {
 
-		private T6 e6;
+		private final T6 e6;
 
 		public Sextuple(T1 e1, T2 e2, T3 e3, T4 e4, T5 e5, T6 e6) {
 			super(e1, e2, e3, e4, e5);
@@ -260,15 +294,17 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return e6;
 		}
 
-		@SuppressWarnings("rawtypes")
 		@Override
 		public boolean equals(Object o) {
-			return super.equals(o) && elementsEquals(e6, ((Sextuple) o).e6);
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			Sextuple<?, ?, ?, ?, ?, ?> other = (Sextuple<?, ?, ?, ?, ?, ?>) o;
+			return elementsEquals(get1st(), other.get1st()) && elementsEquals(get2nd(), other.get2nd()) && elementsEquals(get3rd(), other.get3rd()) && elementsEquals(get4th(), other.get4th()) && elementsEquals(get5th(), other.get5th()) && elementsEquals(get6th(), other.get6th());
 		}
 
 		@Override
-		public int hashCode() {
-			return super.hashCode() * 37 + (e6 == null ? 0 : e6.hashCode());
+		protected int computeHashCode() {
+			return ((((hash(get1st()) * 37 + hash(get2nd())) * 37 + hash(get3rd())) * 37 + hash(get4th())) * 37 + hash(get5th())) * 37 + hash(get6th());
 		}
 
 		@Override
@@ -276,13 +312,25 @@ public abstract class Tuple implements Comparable<Tuple> {
 			return super.appendItems(builder).append("[").append(e6).append("]");
 		}
 
-		@SuppressWarnings({ "unchecked", "rawtypes" })
 		@Override
 		protected int compareItems(Tuple other) {
-			int result = super.compareItems(other);
+			if (!(other instanceof Singleton<?> o1)) return 1; // Other is shorter
+			int result = compareElements(get1st(), o1.get1st());
+			if (result != 0) return result;
+			if (!(other instanceof Pair<?, ?> o2)) return 1; // Other is shorter
+			result = compareElements(get2nd(), o2.get2nd());
+			if (result != 0) return result;
+			if (!(other instanceof Triple<?, ?, ?> o3)) return 1; // Other is shorter
+			result = compareElements(get3rd(), o3.get3rd());
 			if (result != 0) return result;
-			if (!(other instanceof Sextuple)) return 1; // Other is shorter
-			return ((Comparable) e6).compareTo(((Sextuple) other).e6);
+			if (!(other instanceof Quadruple<?, ?, ?, ?> o4)) return 1; // Other is shorter
+			result = compareElements(get4th(), o4.get4th());
+			if (result != 0) return result;
+			if (!(other instanceof Quintuple<?, ?, ?, ?, ?> o5)) return 1; // Other is shorter
+			result = compareElements(get5th(), o5.get5th());
+			if (result != 0) return result;
+			if (!(other instanceof Sextuple<?, ?, ?, ?, ?, ?> o6)) return 1; // Other is shorter
+			return compareElements(get6th(), o6.get6th());
 		}
 
 	}
@@ -348,9 +396,12 @@ public abstract class Tuple implements Comparable<Tuple> {
 	/**
 	 * compareTo() helper.
 	 * <p>
-	 * Subclasses should override this to call <code>super.compareItems</code>
-	 * and, if the result of that is zero, then compare "their own" item with
-	 * the corresponding item in the supplied Tuple.
+	 * Subclasses should override this to compare all their elements, in order,
+	 * with the corresponding elements of the supplied Tuple using
+	 * {@link #compareElements(Object, Object)}, returning the first non-zero result.
+	 * If the supplied Tuple runs out of elements before a difference is found, return
+	 * a positive number. If all elements compare equal, return zero and let
+	 * <code>compareTo</code> order a supplied Tuple with more elements last.
 	 * </p>
 	 */
 	protected abstract int compareItems(Tuple other);
@@ -368,6 +419,56 @@ public abstract class Tuple implements Comparable<Tuple> {
 	}
 
 
+	/**
+	 * Returns the hash code of the Tuple.
+	 * <p>
+	 * The hash code is computed by {@link #computeHashCode()} on first use and then
+	 * cached, so Tuples are cheap to use repeatedly as keys in hash based collections.
+	 * This assumes that the hash codes of the elements don't change.
+	 * </p>
+	 */
+	@Override
+	public int hashCode() {
+		int h = hash;
+		if (h == 0) hash = h = computeHashCode();
+		return h;
+	}
+
+
+	/**
+	 * hashCode() helper.
+	 * <p>
+	 * Subclasses should override this to compute the hash code from all their elements.
+	 * The default implementation returns the identity hash code.
+	 * </p>
+	 */
+	protected int computeHashCode() {
+		return System.identityHashCode(this);
+	}
+
+
+	/**
+	 * Helper-method to get the hash code of an element.
+	 *
+	 * @param element
+	 * @return the hash code of the element, or 0 if it is null.
+	 */
+	protected static int hash(Object element) {
+		return element == null ? 0 : element.hashCode();
+	}
+
+
+	/**
+	 * Helper-method to compare two elements.
+	 *
+	 * @throws ClassCastException if the elements aren't mutually comparable.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected static int compareElements(Object e1, Object e2) {
+		return ((Comparable) e1).compareTo(e2);
+	}
+
+
 	/**
 	 * Create new Singleton (Tuple with one element).
 	 * 
@@ -472,5 +573,227 @@ public abstract class Tuple implements Comparable<Tuple> {
 		return new Sextuple<T1, T2, T3, T4, T5, T6>(e1, e2, e3, e4, e5, e6);
 	}
 
+	/**
+	 * Create Comparator for Singletons.
+	 * <p>
+	 * The comparators created by this and the following <code>comparator</code>
+	 * methods compare each element with the given, typed, Comparator instead of
+	 * casting it to <code>Comparable</code> like {@link #compareTo(Tuple)} does,
+	 * which makes sorting large numbers of Tuples considerably faster.
+	 * </p><p>
+	 * Null elements are passed to the element Comparators, so null ordering is
+	 * controlled by them - use {@link Comparator#nullsFirst(Comparator)} or
+	 * {@link Comparator#nullsLast(Comparator)} where elements may be null.
+	 * </p><p>
+	 * Like with <code>compareTo</code> a Tuple with more elements is considered
+	 * greater than a Tuple with fewer, but otherwise equal, elements.
+	 * </p>
+	 *
+	 * @param <T1>
+	 * @param c1 Comparator for the 1st element
+	 * @return Comparator
+	 */
+	public static <T1> Comparator<Singleton<T1>> comparator(Comparator<? super T1> c1) {
+		requireNonNull(c1);
+		return (a, b) -> {
+			int result = c1.compare(a.get1st(), b.get1st());
+			if (result != 0) return result;
+			return compareArity(a, b);
+		};
+	}
+
+
+	/**
+	 * Create Comparator for Pairs.
+	 *
+	 * @param <T1>
+	 * @param <T2>
+	 * @param c1 Comparator for the 1st element
+	 * @param c2 Comparator for the 2nd element
+	 * @return Comparator
+	 * @see #comparator(Comparator)
+	 */
+	public static <T1, T2> Comparator<Pair<T1, T2>> comparator(
+			Comparator<? super T1> c1, Comparator<? super T2> c2) {
+		requireNonNull(c1);
+		requireNonNull(c2);
+		return (a, b) -> {
+			int result = c1.compare(a.get1st(), b.get1st());
+			if (result != 0) return result;
+			result = c2.compare(a.get2nd(), b.get2nd());
+			if (result != 0) return result;
+			return compareArity(a, b);
+		};
+	}
+
+
+	/**
+	 * Create Comparator for Triples.
+	 *
+	 * @param <T1>
+	 * @param <T2>
+	 * @param <T3>
+	 * @param c1 Comparator for the 1st element
+	 * @param c2 Comparator for the 2nd element
+	 * @param c3 Comparator for the 3rd element
+	 * @return Comparator
+	 * @see #comparator(Comparator)
+	 */
+	public static <T1, T2, T3> Comparator<Triple<T1, T2, T3>> comparator(
+			Comparator<? super T1> c1, Comparator<? super T2> c2, Comparator<? super T3> c3) {
+		requireNonNull(c1);
+		requireNonNull(c2);
+		requireNonNull(c3);
+		return (a, b) -> {
+			int result = c1.compare(a.get1st(), b.get1st());
+			if (result != 0) return result;
+			result = c2.compare(a.get2nd(), b.get2nd());
+			if (result != 0) return result;
+			result = c3.compare(a.get3rd(), b.get3rd());
+			if (result != 0) return result;
+			return compareArity(a, b);
+		};
+	}
+
+
+	/**
+	 * Create Comparator for Quadruples.
+	 *
+	 * @param <T1>
+	 * @param <T2>
+	 * @param <T3>
+	 * @param <T4>
+	 * @param c1 Comparator for the 1st element
+	 * @param c2 Comparator for the 2nd element
+	 * @param c3 Comparator for the 3rd element
+	 * @param c4 Comparator for the 4th element
+	 * @return Comparator
+	 * @see #comparator(Comparator)
+	 */
+	public static <T1, T2, T3, T4> Comparator<Quadruple<T1, T2, T3, T4>> comparator(
+			Comparator<? super T1> c1, Comparator<? super T2> c2, Comparator<? super T3> c3,
+			Comparator<? super T4> c4) {
+		requireNonNull(c1);
+		requireNonNull(c2);
+		requireNonNull(c3);
+		requireNonNull(c4);
+		return (a, b) -> {
+			int result = c1.compare(a.get1st(), b.get1st());
+			if (result != 0) return result;
+			result = c2.compare(a.get2nd(), b.get2nd());
+			if (result != 0) return result;
+			result = c3.compare(a.get3rd(), b.get3rd());
+			if (result != 0) return result;
+			result = c4.compare(a.get4th(), b.get4th());
+			if (result != 0) return result;
+			return compareArity(a, b);
+		};
+	}
+
+
+	/**
+	 * Create Comparator for Quintuples.
+	 *
+	 * @param <T1>
+	 * @param <T2>
+	 * @param <T3>
+	 * @param <T4>
+	 * @param <T5>
+	 * @param c1 Comparator for the 1st element
+	 * @param c2 Comparator for the 2nd element
+	 * @param c3 Comparator for the 3rd element
+	 * @param c4 Comparator for the 4th element
+	 * @param c5 Comparator for the 5th element
+	 * @return Comparator
+	 * @see #comparator(Comparator)
+	 */
+	public static <T1, T2, T3, T4, T5> Comparator<Quintuple<T1, T2, T3, T4, T5>> comparator(
+			Comparator<? super T1> c1, Comparator<? super T2> c2, Comparator<? super T3> c3,
+			Comparator<? super T4> c4, Comparator<? super T5> c5) {
+		requireNonNull(c1);
+		requireNonNull(c2);
+		requireNonNull(c3);
+		requireNonNull(c4);
+		requireNonNull(c5);
+		return (a, b) -> {
+			int result = c1.compare(a.get1st(), b.get1st());
+			if (result != 0) return result;
+			result = c2.compare(a.get2nd(), b.get2nd());
+			if (result != 0) return result;
+			result = c3.compare(a.get3rd(), b.get3rd());
+			if (result != 0) return result;
+			result = c4.compare(a.get4th(), b.get4th());
+			if (result != 0) return result;
+			result = c5.compare(a.get5th(), b.get5th());
+			if (result != 0) return result;
+			return compareArity(a, b);
+		};
+	}
+
+
+	/**
+	 * Create Comparator for Sextuples.
+	 *
+	 * @param <T1>
+	 * @param <T2>
+	 * @param <T3>
+	 * @param <T4>
+	 * @param <T5>
+	 * @param <T6>
+	 * @param c1 Comparator for the 1st element
+	 * @param c2 Comparator for the 2nd element
+	 * @param c3 Comparator for the 3rd element
+	 * @param c4 Comparator for the 4th element
+	 * @param c5 Comparator for the 5th element
+	 * @param c6 Comparator for the 6th element
+	 * @return Comparator
+	 * @see #comparator(Comparator)
+	 */
+	public static <T1, T2, T3, T4, T5, T6> Comparator<Sextuple<T1, T2, T3, T4, T5, T6>> comparator(
+			Comparator<? super T1> c1, Comparator<? super T2> c2, Comparator<? super T3> c3,
+			Comparator<? super T4> c4, Comparator<? super T5> c5, Comparator<? super T6> c6) {
+		requireNonNull(c1);
+		requireNonNull(c2);
+		requireNonNull(c3);
+		requireNonNull(c4);
+		requireNonNull(c5);
+		requireNonNull(c6);
+		return (a, b) -> {
+			int result = c1.compare(a.get1st(), b.get1st());
+			if (result != 0) return result;
+			result = c2.compare(a.get2nd(), b.get2nd());
+			if (result != 0) return result;
+			result = c3.compare(a.get3rd(), b.get3rd());
+			if (result != 0) return result;
+			result = c4.compare(a.get4th(), b.get4th());
+			if (result != 0) return result;
+			result = c5.compare(a.get5th(), b.get5th());
+			if (result != 0) return result;
+			result = c6.compare(a.get6th(), b.get6th());
+			if (result != 0) return result;
+			return compareArity(a, b);
+		};
+	}
+
+
+	/**
+	 * Orders Tuples whose compared elements are all equal by their number of elements.
+	 */
+	private static int compareArity(Tuple a, Tuple b) {
+		if (a.getClass() == b.getClass()) return 0;
+		return Integer.compare(arity(a), arity(b));
+	}
+
+
+	private static int arity(Tuple tuple) {
+		if (tuple instanceof Sextuple) return 6;
+		if (tuple instanceof Quintuple) return 5;
+		if (tuple instanceof Quadruple) return 4;
+		if (tuple instanceof Triple) return 3;
+		if (tuple instanceof Pair) return 2;
+		if (tuple instanceof Singleton) return 1;
+		return 0;
+	}
+
 
 }
@@ -0,0 +1,482 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import dk.clanie.core.collections.Tuple.Pair;
+import dk.clanie.core.collections.Tuple.Quadruple;
+import dk.clanie.core.collections.Tuple.Quintuple;
+import dk.clanie.core.collections.Tuple.Sextuple;
+import dk.clanie.core.collections.Tuple.Singleton;
+import dk.clanie.core.collections.Tuple.Triple;
+import dk.clanie.exception.RuntimeIOException;
+
+/**
+ * Compact binary codec for {@link Tuple}s and {@link KeyValuePair}s.
+ * <p>
+ * Each value is written as a frame: a varint with the length of the body
+ * followed by the body. The body is a one byte type tag followed by the
+ * value, where integral numbers are zig-zag varint encoded, strings are
+ * length-prefixed UTF-8 and Tuples and KeyValuePairs hold their elements
+ * recursively.
+ * </p><p>
+ * Supported element types are <code>null</code>, Boolean, Byte, Short, Integer,
+ * Long, Float, Double, Character, String, byte[], BigInteger, BigDecimal, UUID,
+ * LocalDate, Instant, Tuple (1-6 elements) and KeyValuePair. Tuples and
+ * KeyValuePairs may be nested at most {@value #MAX_DEPTH} levels deep.
+ * </p><p>
+ * Values are read directly from a <code>ByteBuffer</code> - heap, direct or a
+ * memory mapped file - so apart from the decoded values nothing is allocated.
+ * </p><p>
+ * Example:</p><pre>try (OutputStream out = Files.newOutputStream(path)) {
+ *     tuples.forEach(t -&gt; TupleCodec.write(t, out));
+ *}
+ *try (FileChannel channel = FileChannel.open(path)) {
+ *     ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+ *     TupleCodec.readAll(buffer).forEach(...);
+ *}</pre>
+ *
+ * @author Claus Nielsen
+ */
+public class TupleCodec {
+
+	/**
+	 * Maximum nesting depth of Tuples and KeyValuePairs accepted when decoding.
+	 */
+	public static final int MAX_DEPTH = 64;
+
+	private static final byte NULL = 0;
+	private static final byte FALSE = 1;
+	private static final byte TRUE = 2;
+	private static final byte BYTE = 3;
+	private static final byte SHORT = 4;
+	private static final byte INT = 5;
+	private static final byte LONG = 6;
+	private static final byte FLOAT = 7;
+	private static final byte DOUBLE = 8;
+	private static final byte CHAR = 9;
+	private static final byte STRING = 10;
+	private static final byte BYTES = 11;
+	private static final byte BIG_INTEGER = 12;
+	private static final byte BIG_DECIMAL = 13;
+	private static final byte UUID_TAG = 14;
+	private static final byte LOCAL_DATE = 15;
+	private static final byte INSTANT = 16;
+	private static final byte SINGLETON = 17;
+	private static final byte PAIR = 18;
+	private static final byte TRIPLE = 19;
+	private static final byte QUADRUPLE = 20;
+	private static final byte QUINTUPLE = 21;
+	private static final byte SEXTUPLE = 22;
+	private static final byte KEY_VALUE_PAIR = 23;
+
+
+	private TupleCodec() {
+		// Not meant to be instantiated
+	}
+
+
+	/**
+	 * Returns the number of bytes {@link #write(Object, ByteBuffer)} writes for given value.
+	 *
+	 * @throws IllegalArgumentException if the value, or an element in it, is of an unsupported type
+	 */
+	public static int sizeOf(Object value) {
+		int bodySize = bodySize(value);
+		return varintSize(bodySize) + bodySize;
+	}
+
+
+	/**
+	 * Writes a value to given buffer.
+	 *
+	 * @throws IllegalArgumentException if the value, or an element in it, is of an unsupported type
+	 * @throws java.nio.BufferOverflowException if there isn't room for the value in the buffer
+	 */
+	public static void write(Object value, ByteBuffer buffer) {
+		writeVarint(buffer, bodySize(value));
+		writeBody(value, buffer);
+	}
+
+
+	/**
+	 * Writes a value to given stream.
+	 *
+	 * @throws IllegalArgumentException if the value, or an element in it, is of an unsupported type
+	 * @throws RuntimeIOException
+	 */
+	public static void write(Object value, OutputStream out) {
+		try {
+			out.write(encode(value));
+		} catch (IOException ioe) {
+			throw new RuntimeIOException("Failed to write value.", ioe);
+		}
+	}
+
+
+	/**
+	 * Encodes a value into a new byte array.
+	 *
+	 * @throws IllegalArgumentException if the value, or an element in it, is of an unsupported type
+	 */
+	public static byte[] encode(Object value) {
+		byte[] bytes = new byte[sizeOf(value)];
+		write(value, ByteBuffer.wrap(bytes));
+		return bytes;
+	}
+
+
+	/**
+	 * Decodes a value encoded by {@link #encode(Object)}.
+	 *
+	 * @throws IllegalArgumentException if the bytes don't hold a valid value
+	 */
+	public static Object decode(byte[] bytes) {
+		return read(ByteBuffer.wrap(bytes));
+	}
+
+
+	/**
+	 * Reads the value at the buffer's position, advancing the position past it.
+	 *
+	 * @throws IllegalArgumentException if the buffer doesn't hold a valid value at its position
+	 */
+	public static Object read(ByteBuffer buffer) {
+		int start = buffer.position();
+		try {
+			int length = readVarintInt(buffer);
+			if (length > buffer.remaining()) throw new BufferUnderflowException();
+			int end = buffer.position() + length;
+			Object value = readBody(buffer, 0);
+			if (buffer.position() != end) throw new IllegalArgumentException("Frame length mismatch at position " + start + ".");
+			return value;
+		} catch (BufferUnderflowException e) {
+			throw new IllegalArgumentException("Truncated frame at position " + start + ".", e);
+		} catch (DateTimeException e) {
+			throw new IllegalArgumentException("Invalid date or time in frame at position " + start + ".", e);
+		}
+	}
+
+
+	/**
+	 * Skips the value at the buffer's position, without decoding it.
+	 */
+	public static void skip(ByteBuffer buffer) {
+		int length = readVarintInt(buffer);
+		buffer.position(buffer.position() + length);
+	}
+
+
+	/**
+	 * Returns a sequential Stream of the values from the buffer's position to its limit.
+	 * <p>
+	 * The values are read lazily, advancing the buffer's position.
+	 * </p>
+	 */
+	public static Stream<Object> readAll(ByteBuffer buffer) {
+		Spliterator<Object> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+			@Override
+			public boolean tryAdvance(Consumer<? super Object> action) {
+				if (!buffer.hasRemaining()) return false;
+				action.accept(read(buffer));
+				return true;
+			}
+		};
+		return StreamSupport.stream(spliterator, false);
+	}
+
+
+	// ***** Encoding *****
+
+	private static int bodySize(Object value) {
+		return 1 + switch (value) {
+			case null -> 0;
+			case Boolean _ -> 0;
+			case Byte _ -> 1;
+			case Short s -> varintSize(zigZag(s));
+			case Integer i -> varintSize(zigZag(i));
+			case Long l -> varintSize(zigZag(l));
+			case Float _ -> Float.BYTES;
+			case Double _ -> Double.BYTES;
+			case Character c -> varintSize(c);
+			case String s -> {
+				int length = utf8Length(s);
+				yield varintSize(length) + length;
+			}
+			case byte[] bytes -> varintSize(bytes.length) + bytes.length;
+			case BigInteger bi -> bigIntegerSize(bi);
+			case BigDecimal bd -> varintSize(zigZag(bd.scale())) + bigIntegerSize(bd.unscaledValue());
+			case UUID _ -> 2 * Long.BYTES;
+			case LocalDate date -> varintSize(zigZag(date.toEpochDay()));
+			case Instant instant -> varintSize(zigZag(instant.getEpochSecond())) + varintSize(instant.getNano());
+			case Sextuple<?, ?, ?, ?, ?, ?> t -> elementsSize(t.get1st(), t.get2nd(), t.get3rd(), t.get4th(), t.get5th(), t.get6th());
+			case Quintuple<?, ?, ?, ?, ?> t -> elementsSize(t.get1st(), t.get2nd(), t.get3rd(), t.get4th(), t.get5th());
+			case Quadruple<?, ?, ?, ?> t -> elementsSize(t.get1st(), t.get2nd(), t.get3rd(), t.get4th());
+			case Triple<?, ?, ?> t -> elementsSize(t.get1st(), t.get2nd(), t.get3rd());
+			case Pair<?, ?> t -> elementsSize(t.get1st(), t.get2nd());
+			case Singleton<?> t -> elementsSize(t.get1st());
+			case KeyValuePair<?, ?> kv -> elementsSize(kv.k(), kv.v());
+			default -> throw unsupported(value);
+		};
+	}
+
+
+	private static int elementsSize(Object... elements) {
+		int size = 0;
+		for (Object element : elements) size += bodySize(element);
+		return size;
+	}
+
+
+	private static int bigIntegerSize(BigInteger value) {
+		int length = value.bitLength() / 8 + 1;
+		return varintSize(length) + length;
+	}
+
+
+	private static void writeBody(Object value, ByteBuffer buffer) {
+		switch (value) {
+			case null -> buffer.put(NULL);
+			case Boolean b -> buffer.put(b ? TRUE : FALSE);
+			case Byte b -> buffer.put(BYTE).put(b);
+			case Short s -> writeVarint(buffer.put(SHORT), zigZag(s));
+			case Integer i -> writeVarint(buffer.put(INT), zigZag(i));
+			case Long l -> writeVarint(buffer.put(LONG), zigZag(l));
+			case Float f -> buffer.put(FLOAT).putFloat(f);
+			case Double d -> buffer.put(DOUBLE).putDouble(d);
+			case Character c -> writeVarint(buffer.put(CHAR), c);
+			case String s -> writeString(buffer.put(STRING), s);
+			case byte[] bytes -> writeVarint(buffer.put(BYTES), bytes.length).put(bytes);
+			case BigInteger bi -> writeBigInteger(buffer.put(BIG_INTEGER), bi);
+			case BigDecimal bd -> writeBigInteger(writeVarint(buffer.put(BIG_DECIMAL), zigZag(bd.scale())), bd.unscaledValue());
+			case UUID uuid -> buffer.put(UUID_TAG).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+			case LocalDate date -> writeVarint(buffer.put(LOCAL_DATE), zigZag(date.toEpochDay()));
+			case Instant instant -> writeVarint(writeVarint(buffer.put(INSTANT), zigZag(instant.getEpochSecond())), instant.getNano());
+			case Sextuple<?, ?, ?, ?, ?, ?> t -> writeElements(buffer.put(SEXTUPLE), t.get1st(), t.get2nd(), t.get3rd(), t.get4th(), t.get5th(), t.get6th());
+			case Quintuple<?, ?, ?, ?, ?> t -> writeElements(buffer.put(QUINTUPLE), t.get1st(), t.get2nd(), t.get3rd(), t.get4th(), t.get5th());
+			case Quadruple<?, ?, ?, ?> t -> writeElements(buffer.put(QUADRUPLE), t.get1st(), t.get2nd(), t.get3rd(), t.get4th());
+			case Triple<?, ?, ?> t -> writeElements(buffer.put(TRIPLE), t.get1st(), t.get2nd(), t.get3rd());
+			case Pair<?, ?> t -> writeElements(buffer.put(PAIR), t.get1st(), t.get2nd());
+			case Singleton<?> t -> writeElements(buffer.put(SINGLETON), t.get1st());
+			case KeyValuePair<?, ?> kv -> writeElements(buffer.put(KEY_VALUE_PAIR), kv.k(), kv.v());
+			default -> throw unsupported(value);
+		}
+	}
+
+
+	private static void writeElements(ByteBuffer buffer, Object... elements) {
+		for (Object element : elements) writeBody(element, buffer);
+	}
+
+
+	private static void writeBigInteger(ByteBuffer buffer, BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		writeVarint(buffer, bytes.length).put(bytes);
+	}
+
+
+	/**
+	 * Writes a String as UTF-8, directly into the buffer.
+	 * <p>
+	 * Unpaired surrogates are written as '?', like <code>String.getBytes(UTF_8)</code> does.
+	 * </p>
+	 */
+	private static void writeString(ByteBuffer buffer, String s) {
+		writeVarint(buffer, utf8Length(s));
+		int length = s.length();
+		for (int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				buffer.put((byte) c);
+			} else if (c < 0x800) {
+				buffer.put((byte) (0xC0 | (c >> 6)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			} else if (Character.isSurrogate(c)) {
+				if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+					int cp = Character.toCodePoint(c, s.charAt(++i));
+					buffer.put((byte) (0xF0 | (cp >> 18)));
+					buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+					buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+					buffer.put((byte) (0x80 | (cp & 0x3F)));
+				} else {
+					buffer.put((byte) '?');
+				}
+			} else {
+				buffer.put((byte) (0xE0 | (c >> 12)));
+				buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+				buffer.put((byte) (0x80 | (c & 0x3F)));
+			}
+		}
+	}
+
+
+	private static int utf8Length(String s) {
+		int length = s.length();
+		int utf8Length = length;
+		for (int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) continue;
+			if (c < 0x800) {
+				utf8Length += 1;
+			} else if (Character.isSurrogate(c)) {
+				if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+					utf8Length += 2; // 4 bytes for 2 chars
+					i++;
+				}
+			} else {
+				utf8Length += 2;
+			}
+		}
+		return utf8Length;
+	}
+
+
+	private static IllegalArgumentException unsupported(Object value) {
+		return new IllegalArgumentException("Unsupported type: " + value.getClass().getName() + ".");
+	}
+
+
+	// ***** Decoding *****
+
+	private static Object readBody(ByteBuffer buffer, int depth) {
+		if (depth > MAX_DEPTH) throw new IllegalArgumentException("Nesting deeper than " + MAX_DEPTH + " levels at position " + buffer.position() + ".");
+		byte tag = buffer.get();
+		return switch (tag) {
+			case NULL -> null;
+			case FALSE -> Boolean.FALSE;
+			case TRUE -> Boolean.TRUE;
+			case BYTE -> buffer.get();
+			case SHORT -> (short) unZigZag(readVarint(buffer));
+			case INT -> (int) unZigZag(readVarint(buffer));
+			case LONG -> unZigZag(readVarint(buffer));
+			case FLOAT -> buffer.getFloat();
+			case DOUBLE -> buffer.getDouble();
+			case CHAR -> (char) readVarint(buffer);
+			case STRING -> readString(buffer);
+			case BYTES -> readBytes(buffer);
+			case BIG_INTEGER -> new BigInteger(readBytes(buffer));
+			case BIG_DECIMAL -> {
+				int scale = (int) unZigZag(readVarint(buffer));
+				yield new BigDecimal(new BigInteger(readBytes(buffer)), scale);
+			}
+			case UUID_TAG -> new UUID(buffer.getLong(), buffer.getLong());
+			case LOCAL_DATE -> LocalDate.ofEpochDay(unZigZag(readVarint(buffer)));
+			case INSTANT -> {
+				long seconds = unZigZag(readVarint(buffer));
+				yield Instant.ofEpochSecond(seconds, readVarint(buffer));
+			}
+			case SINGLETON -> Tuple.of(readBody(buffer, depth + 1));
+			case PAIR -> Tuple.of(readBody(buffer, depth + 1), readBody(buffer, depth + 1));
+			case TRIPLE -> Tuple.of(readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1));
+			case QUADRUPLE -> Tuple.of(readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1));
+			case QUINTUPLE -> Tuple.of(readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1));
+			case SEXTUPLE -> Tuple.of(readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1), readBody(buffer, depth + 1));
+			case KEY_VALUE_PAIR -> new KeyValuePair<>(readBody(buffer, depth + 1), readBody(buffer, depth + 1));
+			default -> throw new IllegalArgumentException("Unknown type tag " + tag + " at position " + (buffer.position() - 1) + ".");
+		};
+	}
+
+
+	private static String readString(ByteBuffer buffer) {
+		int length = readVarintInt(buffer);
+		if (length > buffer.remaining()) throw new BufferUnderflowException();
+		String s;
+		if (buffer.hasArray()) {
+			s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+			buffer.position(buffer.position() + length);
+		} else {
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			s = new String(bytes, UTF_8);
+		}
+		return s;
+	}
+
+
+	private static byte[] readBytes(ByteBuffer buffer) {
+		int length = readVarintInt(buffer);
+		if (length > buffer.remaining()) throw new BufferUnderflowException();
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+
+	// ***** Varints *****
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+
+	private static int varintSize(long value) {
+		int bits = 64 - Long.numberOfLeadingZeros(value | 1);
+		return (bits + 6) / 7;
+	}
+
+
+	private static ByteBuffer writeVarint(ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		return buffer.put((byte) value);
+	}
+
+
+	private static long readVarint(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) return value;
+		}
+		throw new IllegalArgumentException("Malformed varint at position " + buffer.position() + ".");
+	}
+
+
+	private static int readVarintInt(ByteBuffer buffer) {
+		long value = readVarint(buffer);
+		if (value < 0 || value > Integer.MAX_VALUE) throw new IllegalArgumentException("Length out of range: " + value + ".");
+		return (int) value;
+	}
+
+
+}
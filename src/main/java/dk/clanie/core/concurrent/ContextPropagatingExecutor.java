@@ -42,7 +42,22 @@ public class ContextPropagatingExecutor implements Executor {
 	 * @param contextPropagator strategy for propagating context
 	 */
 	public ContextPropagatingExecutor(ContextPropagator contextPropagator) {
-		this.virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+		this(newVirtualThreadPerTaskExecutor(), contextPropagator);
+	}
+
+
+	/**
+	 * Creates a new context propagating executor running tasks on given executor.
+	 * <p>
+	 * Use this to control the lifecycle of the threads, for instance with an
+	 * ExecutorService that is shut down when no longer needed, or
+	 * {@code Thread::startVirtualThread}, which leaves nothing to shut down.
+	 *
+	 * @param executor executor running the tasks
+	 * @param contextPropagator strategy for propagating context
+	 */
+	public ContextPropagatingExecutor(Executor executor, ContextPropagator contextPropagator) {
+		this.virtualThreadExecutor = executor;
 		this.contextPropagator = contextPropagator;
 	}
 
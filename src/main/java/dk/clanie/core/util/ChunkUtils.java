@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Chunking Utility Methods.
+ * <p>
+ * Splits Iterables into batches, for example for bulk database writes, by
+ * number of elements and optionally by weight - like the number of bytes a
+ * batch of rows adds to a request. The source is consumed lazily, one chunk
+ * at a time, and is never materialized as a whole.
+ * </p><p>
+ * See {@link dk.clanie.core.util.stream.Gatherers#chunked(int)} for chunking streams, and
+ * {@link #batchByTimeOrSize(Stream, int, Duration)} for batching streams by time as well.
+ * </p>
+ *
+ * @author Claus Nielsen
+ */
+public class ChunkUtils {
+
+
+	private ChunkUtils() {
+		// Not meant to be instantiated
+	}
+
+
+	/**
+	 * Returns a lazy Iterable of chunks of up to {@code size} elements from given {@code iterable}.
+	 * <p>
+	 * Each chunk is a new List, which the caller may keep. Only the last chunk may be smaller than {@code size}.
+	 * </p>
+	 * Never returns null. If given {@code iterable} is {@code null} there are no chunks.
+	 */
+	public static @NonNull <T> Iterable<List<T>> chunked(@Nullable Iterable<T> iterable, int size) {
+		return chunked(iterable, size, Long.MAX_VALUE, _ -> 0L);
+	}
+
+
+	/**
+	 * Returns a lazy Iterable of chunks from given {@code iterable}, each with up to
+	 * {@code maxSize} elements and a total weight of at most {@code maxWeight}.
+	 * <p>
+	 * An element which alone weighs more than {@code maxWeight} gets a chunk of its own.
+	 * Each chunk is a new List, which the caller may keep.
+	 * </p>
+	 * Never returns null. If given {@code iterable} is {@code null} there are no chunks.
+	 */
+	public static @NonNull <T> Iterable<List<T>> chunked(@Nullable Iterable<T> iterable, int maxSize, long maxWeight, ToLongFunction<? super T> weigher) {
+		validate(maxSize, maxWeight);
+		requireNonNull(weigher);
+		if (iterable == null) return List.of();
+		return () -> new ChunkIterator<>(iterable.iterator(), maxSize, maxWeight, weigher);
+	}
+
+
+	/**
+	 * Returns a sequential Stream of chunks of up to {@code size} elements from given {@code iterable}.
+	 *
+	 * @see #chunked(Iterable, int)
+	 */
+	public static @NonNull <T> Stream<List<T>> chunkedStream(@Nullable Iterable<T> iterable, int size) {
+		return chunkedStream(iterable, size, Long.MAX_VALUE, _ -> 0L);
+	}
+
+
+	/**
+	 * Returns a sequential Stream of chunks from given {@code iterable}, each with up to
+	 * {@code maxSize} elements and a total weight of at most {@code maxWeight}.
+	 *
+	 * @see #chunked(Iterable, int, long, ToLongFunction)
+	 */
+	public static @NonNull <T> Stream<List<T>> chunkedStream(@Nullable Iterable<T> iterable, int maxSize, long maxWeight, ToLongFunction<? super T> weigher) {
+		Iterator<List<T>> chunks = chunked(iterable, maxSize, maxWeight, weigher).iterator();
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+
+	/**
+	 * Returns a sequential Stream of batches of up to {@code maxSize} elements from
+	 * given {@code stream}, each emitted when full or {@code maxDelay} after its first
+	 * element was received, whichever comes first.
+	 * <p>
+	 * The input is read ahead on a virtual thread into a bounded queue of {@code maxSize}
+	 * elements, so a batch is emitted on time even while the input is paused, as when
+	 * it is fed by a message consumer. Reading starts when the first batch is requested.
+	 * Exceptions thrown by the input are rethrown after the elements read before them
+	 * have been emitted. Closing the returned Stream stops the reader and closes the input;
+	 * so does the input running out.
+	 * </p>
+	 * Never returns null. If given {@code stream} is {@code null} there are no batches.
+	 */
+	public static @NonNull <T> Stream<List<T>> batchByTimeOrSize(@Nullable Stream<T> stream, int maxSize, Duration maxDelay) {
+		validate(maxSize, Long.MAX_VALUE);
+		long maxDelayNanos = maxDelay.toNanos();
+		if (maxDelayNanos < 0) throw new IllegalArgumentException("Max delay must not be negative, was " + maxDelay + ".");
+		if (stream == null) return Stream.empty();
+		TimedBatchIterator<T> batches = new TimedBatchIterator<>(stream, maxSize, maxDelayNanos);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(batches::cancel);
+	}
+
+
+	/**
+	 * Performs given {@code action} for each chunk of up to {@code size} elements from given {@code iterable}.
+	 * <p>
+	 * The same, unmodifiable, List instance is reused for all chunks, so nothing
+	 * but that one buffer is allocated. The action must therefore not keep a
+	 * reference to the List after returning - copy it if needed.
+	 * </p>
+	 */
+	public static <T> void forEachChunk(@Nullable Iterable<T> iterable, int size, Consumer<? super List<T>> action) {
+		validate(size, Long.MAX_VALUE);
+		requireNonNull(action);
+		if (iterable == null) return;
+		List<T> buffer = new ArrayList<>(Math.min(size, 1024));
+		List<T> view = Collections.unmodifiableList(buffer);
+		for (T element : iterable) {
+			buffer.add(element);
+			if (buffer.size() == size) {
+				action.accept(view);
+				buffer.clear();
+			}
+		}
+		if (!buffer.isEmpty()) action.accept(view);
+	}
+
+
+	private static void validate(int maxSize, long maxWeight) {
+		if (maxSize < 1) throw new IllegalArgumentException("Chunk size must be positive, was " + maxSize + ".");
+		if (maxWeight < 0) throw new IllegalArgumentException("Max weight must not be negative, was " + maxWeight + ".");
+	}
+
+
+	private static class ChunkIterator<T> implements Iterator<List<T>> {
+
+		private final Iterator<T> source;
+		private final int maxSize;
+		private final long maxWeight;
+		private final ToLongFunction<? super T> weigher;
+		private T pending; // Element read, but not fitting in the previous chunk
+		private long pendingWeight;
+		private boolean hasPending;
+
+		ChunkIterator(Iterator<T> source, int maxSize, long maxWeight, ToLongFunction<? super T> weigher) {
+			this.source = source;
+			this.maxSize = maxSize;
+			this.maxWeight = maxWeight;
+			this.weigher = weigher;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return hasPending || source.hasNext();
+		}
+
+		@Override
+		public List<T> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			List<T> chunk = new ArrayList<>(Math.min(maxSize, 1024));
+			long weight = 0;
+			if (hasPending) {
+				chunk.add(pending);
+				weight = pendingWeight;
+				pending = null;
+				hasPending = false;
+			}
+			while (chunk.size() < maxSize && source.hasNext()) {
+				T element = source.next();
+				long elementWeight = weigher.applyAsLong(element);
+				if (!chunk.isEmpty() && elementWeight > maxWeight - weight) {
+					pending = element;
+					pendingWeight = elementWeight;
+					hasPending = true;
+					break;
+				}
+				chunk.add(element);
+				weight += elementWeight;
+			}
+			return chunk;
+		}
+
+	}
+
+
+	/**
+	 * Iterator of batches from a Stream read ahead on a virtual thread, flushing a
+	 * batch when its time is up while waiting for more input.
+	 */
+	private static class TimedBatchIterator<T> implements Iterator<List<T>> {
+
+		private static final Object NULL = new Object();
+		private static final Object END = new Object();
+
+		private final Stream<T> source;
+		private final int maxSize;
+		private final long maxDelayNanos;
+		private final BlockingQueue<Object> queue;
+		private volatile Throwable failure;
+		private Thread reader;
+		private boolean cancelled;
+		private boolean ended;
+		private List<T> batch;
+
+		TimedBatchIterator(Stream<T> source, int maxSize, long maxDelayNanos) {
+			this.source = source;
+			this.maxSize = maxSize;
+			this.maxDelayNanos = maxDelayNanos;
+			queue = new ArrayBlockingQueue<>(maxSize);
+		}
+
+		private void read() {
+			try (source) {
+				try {
+					Iterator<T> iterator = source.iterator();
+					while (iterator.hasNext()) {
+						T element = iterator.next();
+						queue.put(element == null ? NULL : element);
+					}
+				} catch (InterruptedException e) {
+					return; // Cancelled
+				} catch (Throwable t) {
+					failure = t;
+				}
+				queue.put(END);
+			} catch (InterruptedException e) {
+				// Cancelled
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (batch != null) return true;
+			if (ended) {
+				Throwable t = failure;
+				failure = null;
+				if (t instanceof RuntimeException re) throw re;
+				if (t instanceof Error error) throw error;
+				if (t != null) throw new IllegalStateException("Input stream failed.", t);
+				return false;
+			}
+			synchronized (this) {
+				if (cancelled) throw new IllegalStateException("Stream has been closed.");
+				if (reader == null) reader = Thread.ofVirtual().name("batchByTimeOrSize-reader").start(this::read);
+			}
+			List<T> next = new ArrayList<>(Math.min(maxSize, 1024));
+			long deadline = 0;
+			try {
+				while (next.size() < maxSize) {
+					Object element = next.isEmpty() ? queue.take() : queue.poll(deadline - System.nanoTime(), NANOSECONDS);
+					if (element == null) break; // Time is up
+					if (element == END) {
+						ended = true;
+						break;
+					}
+					if (next.isEmpty()) deadline = System.nanoTime() + maxDelayNanos;
+					next.add(element == NULL ? null : cast(element));
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancel();
+				throw new IllegalStateException("Interrupted while waiting for input.", e);
+			}
+			if (next.isEmpty()) return hasNext();
+			batch = next;
+			return true;
+		}
+
+		@SuppressWarnings("unchecked")
+		private T cast(Object element) {
+			return (T) element;
+		}
+
+		@Override
+		public List<T> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			List<T> next = batch;
+			batch = null;
+			return next;
+		}
+
+		synchronized void cancel() {
+			cancelled = true;
+			if (reader != null) reader.interrupt();
+			else source.close();
+		}
+
+	}
+
+
+}
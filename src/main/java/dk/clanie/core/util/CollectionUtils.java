@@ -20,12 +20,17 @@ package dk.clanie.core.util;
 import static dk.clanie.core.Utils.eq;
 import static dk.clanie.core.util.SortDirection.ASC;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Comparator.naturalOrder;
 import static java.util.Comparator.reverseOrder;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toConcurrentMap;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 
+import java.util.AbstractCollection;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -33,11 +38,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -45,10 +55,17 @@ import java.util.stream.StreamSupport;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
+import dk.clanie.core.collections.Index;
 import dk.clanie.core.collections.KeyValuePair;
 
 public class CollectionUtils {
 
+	/**
+	 * Default minimum number of elements for the parallel variants of the helper
+	 * methods, like {@link #parallelMapList(Iterable, Function)}, to actually go parallel.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
 
 	private CollectionUtils() {
 		// Not meant to be instantiated
@@ -66,6 +83,8 @@ public class CollectionUtils {
 
 	/**
 	 * Checks if given {@code iterable} contains given {@code item}. 
+	 * 
+	 * This is a linear scan - for repeated lookups in the same elements build an {@link Index} instead.
 	 */
 	public static <T> boolean contains(@Nullable Iterable<T> iterable, T item) {
 		return stream(iterable).anyMatch(x -> eq(x, item));
@@ -191,6 +210,163 @@ public class CollectionUtils {
 	}
 
 
+	/**
+	 * Parallel variant of {@link #asMap(Iterable, Function)}.
+	 * <p>
+	 * Collections with at least {@link #DEFAULT_PARALLEL_THRESHOLD} elements are
+	 * processed by a parallel stream on the common fork/join pool, collecting
+	 * straight into a concurrent map without a merge step. Smaller collections
+	 * and other Iterables are processed sequentially.
+	 * </p>
+	 */
+	public static @NonNull <K, V> Map<K, V> parallelAsMap(@Nullable Iterable<V> iterable, Function<? super V, ? extends K> keyMapper) {
+		return parallelAsMap(iterable, keyMapper, v->v, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #asMap(Iterable, Function, Function)}.
+	 *
+	 * @see #parallelAsMap(Iterable, Function)
+	 */
+	public static @NonNull <V, K, MV> Map<K, MV> parallelAsMap(@Nullable Iterable<V> iterable, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends MV> valueMapper) {
+		return parallelAsMap(iterable, keyMapper, valueMapper, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #asMap(Iterable, Function, Function)}, going parallel
+	 * for Collections with at least {@code threshold} elements.
+	 *
+	 * @see #parallelAsMap(Iterable, Function)
+	 */
+	public static @NonNull <V, K, MV> Map<K, MV> parallelAsMap(@Nullable Iterable<V> iterable, Function<? super V, ? extends K> keyMapper, Function<? super V, ? extends MV> valueMapper, int threshold) {
+		if (!goParallel(iterable, threshold)) return asMap(iterable, keyMapper, valueMapper);
+		return unmodifiableMap(parallelStream(iterable).collect(toConcurrentMap(keyMapper, valueMapper)));
+	}
+
+
+	/**
+	 * Parallel variant of {@link #filterList(Iterable, Predicate)}.
+	 * <p>
+	 * Collections with at least {@link #DEFAULT_PARALLEL_THRESHOLD} elements are
+	 * processed by a parallel stream on the common fork/join pool. The order of
+	 * the elements is preserved. Smaller collections and other Iterables are
+	 * processed sequentially.
+	 * </p>
+	 */
+	public static @NonNull <T> List<T> parallelFilterList(@Nullable Iterable<T> iterable, Predicate<? super T> predicate) {
+		return parallelFilterList(iterable, predicate, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #filterList(Iterable, Predicate)}, going parallel
+	 * for Collections with at least {@code threshold} elements.
+	 *
+	 * @see #parallelFilterList(Iterable, Predicate)
+	 */
+	public static @NonNull <T> List<T> parallelFilterList(@Nullable Iterable<T> iterable, Predicate<? super T> predicate, int threshold) {
+		if (!goParallel(iterable, threshold)) return filterList(iterable, predicate);
+		return parallelStream(iterable).filter(predicate).toList();
+	}
+
+
+	/**
+	 * Parallel variant of {@link #mapList(Iterable, Function)}.
+	 * <p>
+	 * Collections with at least {@link #DEFAULT_PARALLEL_THRESHOLD} elements are
+	 * processed by a parallel stream on the common fork/join pool. The order of
+	 * the elements is preserved. Smaller collections and other Iterables are
+	 * processed sequentially.
+	 * </p>
+	 */
+	public static @NonNull <T, R> List<R> parallelMapList(@Nullable Iterable<T> iterable, Function<? super T, ? extends R> mapper) {
+		return parallelMapList(iterable, mapper, DEFAULT_PARALLEL_THRESHOLD);
+	}
+
+
+	/**
+	 * Parallel variant of {@link #mapList(Iterable, Function)}, going parallel
+	 * for Collections with at least {@code threshold} elements.
+	 *
+	 * @see #parallelMapList(Iterable, Function)
+	 */
+	public static @NonNull <T, R> List<R> parallelMapList(@Nullable Iterable<T> iterable, Function<? super T, ? extends R> mapper, int threshold) {
+		if (!goParallel(iterable, threshold)) return mapList(iterable, mapper);
+		return parallelStream(iterable).<R>map(mapper).toList();
+	}
+
+
+	private static boolean goParallel(@Nullable Iterable<?> iterable, int threshold) {
+		return iterable instanceof Collection<?> c && c.size() >= threshold;
+	}
+
+
+	/**
+	 * Returns a List view (unmodifiable) of given {@code list} with each element transformed using given {@code mapper}.
+	 * <p>
+	 * Nothing is copied. Elements are transformed on each access, and the view
+	 * reflects later changes to the underlying list. {@code size()} doesn't
+	 * evaluate any elements. Use {@link #mapList(Iterable, Function)} instead if
+	 * the elements are accessed more than once or the mapper is expensive.
+	 * </p>
+	 * Never returns null. If given {@code list} is {@code null} an empty List is returned.
+	 */
+	public static @NonNull <T, R> List<R> mapView(@Nullable List<T> list, Function<? super T, ? extends R> mapper) {
+		if (list == null) return emptyList();
+		return list instanceof RandomAccess
+				? new RandomAccessMappedListView<>(list, mapper)
+				: new MappedListView<>(list, mapper);
+	}
+
+
+	/**
+	 * Returns a Collection view (unmodifiable) of given {@code collection} with each element transformed using given {@code mapper}.
+	 * 
+	 * @see #mapView(List, Function)
+	 */
+	public static @NonNull <T, R> Collection<R> mapView(@Nullable Collection<T> collection, Function<? super T, ? extends R> mapper) {
+		if (collection == null) return emptyList();
+		if (collection instanceof List<T> list) return mapView(list, mapper);
+		return new MappedCollectionView<>(collection, mapper);
+	}
+
+
+	/**
+	 * Returns a Collection view (unmodifiable) of the elements in given {@code collection} matching given {@code predicate}.
+	 * <p>
+	 * Nothing is copied. The predicate is evaluated while iterating, so
+	 * {@code isEmpty()} and {@code stream().findFirst()} only test elements up
+	 * to the first match, whereas {@code size()} must test all elements.
+	 * The view reflects later changes to the underlying collection.
+	 * </p>
+	 * Never returns null. If given {@code collection} is {@code null} an empty Collection is returned.
+	 */
+	public static @NonNull <T> Collection<T> filterView(@Nullable Collection<T> collection, Predicate<? super T> predicate) {
+		if (collection == null) return emptyList();
+		return new FilteredCollectionView<>(collection, predicate);
+	}
+
+
+	/**
+	 * Returns a List view (unmodifiable) of given {@code lists} concatenated.
+	 * <p>
+	 * Nothing is copied. The view reflects later changes to the underlying lists.
+	 * Null lists are treated as empty. The view is {@link RandomAccess} if all
+	 * the underlying lists are.
+	 * </p>
+	 */
+	@SafeVarargs
+	public static @NonNull <T> List<T> concatView(@Nullable List<? extends T>... lists) {
+		if (lists == null || lists.length == 0) return emptyList();
+		for (List<? extends T> list : lists) {
+			if (list != null && !(list instanceof RandomAccess)) return new ConcatenatedListView<>(lists);
+		}
+		return new RandomAccessConcatenatedListView<>(lists);
+	}
+
+
 	/**
 	 * Returns a sequential {@link Stream} of the contents of {@code iterable}, delegating to
 	 * {@link Collection#stream} if possible.
@@ -230,24 +406,51 @@ public class CollectionUtils {
 
 	/**
 	 * Returns a reverse-order {@link Stream} of the contents of {@code list}.
-	 *
+	 * <p>
+	 * The stream is sized, and if the list is {@link RandomAccess} it also
+	 * splits evenly, so it performs well in parallel.
+	 * </p>
 	 * Never returns null. If given {@code list} is {@code null} an empty stream is returned.
 	 */
 	public static @NonNull <T> Stream<T> reverseStream(@Nullable List<T> list) {
 		if (list == null) return Stream.empty();
+		return StreamSupport.stream(reverseSpliterator(list), false);
+	}
+
+
+	/**
+	 * Returns a reverse-order {@link Stream} of the contents of {@code array}.
+	 *
+	 * Never returns null. If given {@code array} is {@code null} an empty stream is returned.
+	 */
+	public static @NonNull <T> Stream<T> reverseStream(@Nullable T[] array) {
+		if (array == null) return Stream.empty();
+		return StreamSupport.stream(new ReverseIndexedSpliterator<>(i -> array[i], 0, array.length), false);
+	}
+
+
+	/**
+	 * Returns a reverse-order {@link Spliterator} over the contents of {@code list}.
+	 * <p>
+	 * For {@link RandomAccess} lists the Spliterator is {@code SIZED}, {@code SUBSIZED}
+	 * and {@code ORDERED} and splits in halves by index. For other lists it is
+	 * {@code SIZED} and {@code ORDERED}, but splits poorly.
+	 * </p>
+	 */
+	public static @NonNull <T> Spliterator<T> reverseSpliterator(List<T> list) {
+		if (list instanceof RandomAccess) return new ReverseIndexedSpliterator<>(list::get, 0, list.size());
 		ListIterator<T> listIterator = list.listIterator(list.size());
-		Stream<T> reversedStream = StreamSupport.stream(
-				Spliterators.spliteratorUnknownSize(
-						new Iterator<T>() {
-							public boolean hasNext() {
-								return listIterator.hasPrevious();
-							}
-							public T next() {
-								return listIterator.previous();
-							}
-						},
-						Spliterator.ORDERED), false);
-		return reversedStream;
+		return Spliterators.spliterator(
+				new Iterator<T>() {
+					public boolean hasNext() {
+						return listIterator.hasPrevious();
+					}
+					public T next() {
+						return listIterator.previous();
+					}
+				},
+				list.size(),
+				Spliterator.ORDERED);
 	}
 
 
@@ -275,4 +478,254 @@ public class CollectionUtils {
 	}
 
 
+	/**
+	 * Random access Spliterator traversing the indexes from {@code fence - 1} down to {@code origin}.
+	 */
+	private static class ReverseIndexedSpliterator<T> implements Spliterator<T> {
+
+		private final IntFunction<T> elements;
+		private final int origin;
+		private int index; // One above the next index to visit
+
+		ReverseIndexedSpliterator(IntFunction<T> elements, int origin, int fence) {
+			this.elements = elements;
+			this.origin = origin;
+			this.index = fence;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (index <= origin) return false;
+			action.accept(elements.apply(--index));
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			IntFunction<T> elements = this.elements;
+			int i = index;
+			index = origin;
+			while (i > origin) action.accept(elements.apply(--i));
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			int mid = (origin + index) >>> 1;
+			if (mid <= origin) return null;
+			// The upper half comes first in reverse order
+			Spliterator<T> prefix = new ReverseIndexedSpliterator<>(elements, mid, index);
+			index = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return index - origin;
+		}
+
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | SUBSIZED;
+		}
+
+	}
+
+
+	// ***** Views *****
+
+	private static class MappedListView<T, R> extends AbstractList<R> {
+
+		final List<T> list;
+		final Function<? super T, ? extends R> mapper;
+
+		MappedListView(List<T> list, Function<? super T, ? extends R> mapper) {
+			this.list = list;
+			this.mapper = requireNonNull(mapper);
+		}
+
+		@Override
+		public R get(int index) {
+			return mapper.apply(list.get(index));
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public Iterator<R> iterator() {
+			return new MappingIterator<>(list.iterator(), mapper);
+		}
+
+	}
+
+
+	private static class RandomAccessMappedListView<T, R> extends MappedListView<T, R> implements RandomAccess {
+
+		RandomAccessMappedListView(List<T> list, Function<? super T, ? extends R> mapper) {
+			super(list, mapper);
+		}
+
+		@Override
+		public Iterator<R> iterator() {
+			return listIterator();
+		}
+
+	}
+
+
+	private static class MappedCollectionView<T, R> extends AbstractCollection<R> {
+
+		private final Collection<T> collection;
+		private final Function<? super T, ? extends R> mapper;
+
+		MappedCollectionView(Collection<T> collection, Function<? super T, ? extends R> mapper) {
+			this.collection = collection;
+			this.mapper = requireNonNull(mapper);
+		}
+
+		@Override
+		public Iterator<R> iterator() {
+			return new MappingIterator<>(collection.iterator(), mapper);
+		}
+
+		@Override
+		public int size() {
+			return collection.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return collection.isEmpty();
+		}
+
+	}
+
+
+	private record MappingIterator<T, R>(Iterator<T> source, Function<? super T, ? extends R> mapper) implements Iterator<R> {
+
+		@Override
+		public boolean hasNext() {
+			return source.hasNext();
+		}
+
+		@Override
+		public R next() {
+			return mapper.apply(source.next());
+		}
+
+	}
+
+
+	private static class FilteredCollectionView<T> extends AbstractCollection<T> {
+
+		private final Collection<T> collection;
+		private final Predicate<? super T> predicate;
+
+		FilteredCollectionView(Collection<T> collection, Predicate<? super T> predicate) {
+			this.collection = collection;
+			this.predicate = requireNonNull(predicate);
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			Iterator<T> source = collection.iterator();
+			return new Iterator<T>() {
+				private T next;
+				private boolean ready;
+				@Override
+				public boolean hasNext() {
+					while (!ready && source.hasNext()) {
+						T candidate = source.next();
+						if (predicate.test(candidate)) {
+							next = candidate;
+							ready = true;
+						}
+					}
+					return ready;
+				}
+				@Override
+				public T next() {
+					if (!hasNext()) throw new NoSuchElementException();
+					ready = false;
+					T result = next;
+					next = null;
+					return result;
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			int size = 0;
+			for (T element : collection) {
+				if (predicate.test(element)) size++;
+			}
+			return size;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return !iterator().hasNext();
+		}
+
+		@Override
+		public Stream<T> stream() {
+			return collection.stream().filter(predicate);
+		}
+
+	}
+
+
+	private static class ConcatenatedListView<T> extends AbstractList<T> {
+
+		private final List<? extends T>[] lists;
+
+		ConcatenatedListView(List<? extends T>[] lists) {
+			this.lists = lists.clone();
+		}
+
+		@Override
+		public T get(int index) {
+			if (index < 0) throw new IndexOutOfBoundsException(index);
+			int remaining = index;
+			for (List<? extends T> list : lists) {
+				if (list == null) continue;
+				int size = list.size();
+				if (remaining < size) return list.get(remaining);
+				remaining -= size;
+			}
+			throw new IndexOutOfBoundsException(index);
+		}
+
+		@Override
+		public int size() {
+			int size = 0;
+			for (List<? extends T> list : lists) {
+				if (list != null) size += list.size();
+			}
+			return size;
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return Arrays.stream(lists)
+					.filter(Objects::nonNull)
+					.<T>flatMap(List::stream)
+					.iterator();
+		}
+
+	}
+
+
+	private static class RandomAccessConcatenatedListView<T> extends ConcatenatedListView<T> implements RandomAccess {
+
+		RandomAccessConcatenatedListView(List<? extends T>[] lists) {
+			super(lists);
+		}
+
+	}
+
+
 }
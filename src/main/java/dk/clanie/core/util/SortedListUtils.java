@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util;
+
+import static dk.clanie.core.util.SortDirection.ASC;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.reverseOrder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Sorted List Utility Methods.
+ * <p>
+ * Searching, slicing and set operations on Lists sorted by a key extracted
+ * from the elements, in given direction - ie. Lists for which
+ * {@link CollectionUtils#isSorted(List, Function, SortDirection)} returns true.
+ * The results are undefined if a List isn't sorted.
+ * </p><p>
+ * Searches take O(log n) time. The set operations use galloping (exponential)
+ * search to skip runs of non-matching elements, so they take O(n + m) time in
+ * the worst case and far less when one list is much smaller than the other or
+ * the lists overlap in few, long, runs.
+ * </p><p>
+ * The Lists should be {@link java.util.RandomAccess}.
+ * </p>
+ *
+ * @author Claus Nielsen
+ */
+public class SortedListUtils {
+
+
+	private SortedListUtils() {
+		// Not meant to be instantiated
+	}
+
+
+	/**
+	 * Searches given sorted {@code list} for an element with given {@code key}.
+	 *
+	 * @return the index of an element with the key, if any; otherwise
+	 *         <code>(-(insertion point) - 1)</code> like {@link java.util.Collections#binarySearch(List, Object)}.
+	 */
+	public static <T, E extends Comparable<? super E>> int binarySearch(List<T> list, E key, Function<T, E> extractor, SortDirection direction) {
+		Comparator<E> comparator = comparator(direction);
+		int low = 0;
+		int high = list.size() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int result = comparator.compare(extractor.apply(list.get(mid)), key);
+			if (result < 0) low = mid + 1;
+			else if (result > 0) high = mid - 1;
+			else return mid;
+		}
+		return -(low + 1);
+	}
+
+
+	/**
+	 * Returns the index of the first element in given sorted {@code list} whose key
+	 * isn't ordered before given {@code key}, or the size of the list if there is none.
+	 */
+	public static <T, E extends Comparable<? super E>> int lowerBound(List<T> list, E key, Function<T, E> extractor, SortDirection direction) {
+		return lowerBound(list, key, extractor, comparator(direction), 0, list.size());
+	}
+
+
+	/**
+	 * Returns the index of the first element in given sorted {@code list} whose key
+	 * is ordered after given {@code key}, or the size of the list if there is none.
+	 */
+	public static <T, E extends Comparable<? super E>> int upperBound(List<T> list, E key, Function<T, E> extractor, SortDirection direction) {
+		return upperBound(list, key, extractor, comparator(direction), 0, list.size());
+	}
+
+
+	/**
+	 * Returns the elements in given sorted {@code list} with keys from {@code from} to {@code to}, both inclusive.
+	 * <p>
+	 * The result is a view (sub list) of the list.
+	 * </p>
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> range(List<T> list, E from, E to, Function<T, E> extractor, SortDirection direction) {
+		Comparator<E> comparator = comparator(direction);
+		int fromIndex = lowerBound(list, from, extractor, comparator, 0, list.size());
+		int toIndex = upperBound(list, to, extractor, comparator, fromIndex, list.size());
+		return list.subList(fromIndex, Math.max(fromIndex, toIndex));
+	}
+
+
+	/**
+	 * Returns the elements in sorted list {@code a} with keys also found in sorted list {@code b}.
+	 * <p>
+	 * The result is sorted like the lists.
+	 * </p>
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> intersection(List<T> a, List<T> b, Function<T, E> extractor, SortDirection direction) {
+		Comparator<E> comparator = comparator(direction);
+		List<T> result = new ArrayList<>();
+		int i = 0;
+		int j = 0;
+		while (i < a.size() && j < b.size()) {
+			E keyA = extractor.apply(a.get(i));
+			E keyB = extractor.apply(b.get(j));
+			int cmp = comparator.compare(keyA, keyB);
+			if (cmp < 0) {
+				i = gallop(a, keyB, extractor, comparator, i + 1);
+			} else if (cmp > 0) {
+				j = gallop(b, keyA, extractor, comparator, j + 1);
+			} else {
+				result.add(a.get(i++));
+			}
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the elements in sorted list {@code a} with keys not found in sorted list {@code b}.
+	 * <p>
+	 * The result is sorted like the lists.
+	 * </p>
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> difference(List<T> a, List<T> b, Function<T, E> extractor, SortDirection direction) {
+		Comparator<E> comparator = comparator(direction);
+		List<T> result = new ArrayList<>();
+		int i = 0;
+		int j = 0;
+		while (i < a.size() && j < b.size()) {
+			E keyA = extractor.apply(a.get(i));
+			E keyB = extractor.apply(b.get(j));
+			int cmp = comparator.compare(keyA, keyB);
+			if (cmp < 0) {
+				int end = gallop(a, keyB, extractor, comparator, i + 1);
+				result.addAll(a.subList(i, end));
+				i = end;
+			} else if (cmp > 0) {
+				j = gallop(b, keyA, extractor, comparator, j + 1);
+			} else {
+				i++;
+			}
+		}
+		result.addAll(a.subList(i, a.size()));
+		return result;
+	}
+
+
+	/**
+	 * Returns the elements of sorted lists {@code a} and {@code b} merged.
+	 * <p>
+	 * Where both lists have elements with the same key only the elements from
+	 * {@code a} are included. The result is sorted like the lists.
+	 * </p>
+	 */
+	public static @NonNull <T, E extends Comparable<? super E>> List<T> union(List<T> a, List<T> b, Function<T, E> extractor, SortDirection direction) {
+		Comparator<E> comparator = comparator(direction);
+		List<T> result = new ArrayList<>(Math.max(a.size(), b.size()));
+		int i = 0;
+		int j = 0;
+		while (i < a.size() && j < b.size()) {
+			E keyA = extractor.apply(a.get(i));
+			E keyB = extractor.apply(b.get(j));
+			int cmp = comparator.compare(keyA, keyB);
+			if (cmp < 0) {
+				int end = gallop(a, keyB, extractor, comparator, i + 1);
+				result.addAll(a.subList(i, end));
+				i = end;
+			} else if (cmp > 0) {
+				int end = gallop(b, keyA, extractor, comparator, j + 1);
+				result.addAll(b.subList(j, end));
+				j = end;
+			} else {
+				int end = upperBound(a, keyA, extractor, comparator, i + 1, a.size());
+				result.addAll(a.subList(i, end));
+				i = end;
+				j = upperBound(b, keyB, extractor, comparator, j + 1, b.size());
+			}
+		}
+		result.addAll(a.subList(i, a.size()));
+		result.addAll(b.subList(j, b.size()));
+		return result;
+	}
+
+
+	private static <E extends Comparable<? super E>> Comparator<E> comparator(SortDirection direction) {
+		return direction == ASC ? naturalOrder() : reverseOrder();
+	}
+
+
+	/**
+	 * Returns the lower bound of given key in the list, searching from index {@code from}
+	 * with exponentially growing steps before finishing off with a binary search.
+	 */
+	private static <T, E> int gallop(List<T> list, E key, Function<T, E> extractor, Comparator<? super E> comparator, int from) {
+		int size = list.size();
+		int low = from;
+		int step = 1;
+		while (low + step < size && comparator.compare(extractor.apply(list.get(low + step - 1)), key) < 0) {
+			low += step;
+			step <<= 1;
+		}
+		return lowerBound(list, key, extractor, comparator, low, Math.min(size, low + step));
+	}
+
+
+	private static <T, E> int lowerBound(List<T> list, E key, Function<T, E> extractor, Comparator<? super E> comparator, int low, int high) {
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparator.compare(extractor.apply(list.get(mid)), key) < 0) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+
+	private static <T, E> int upperBound(List<T> list, E key, Function<T, E> extractor, Comparator<? super E> comparator, int low, int high) {
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (comparator.compare(extractor.apply(list.get(mid)), key) <= 0) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+
+
+}
@@ -16,21 +16,72 @@
  * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
  */
 package dk.clanie.core.util.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 import java.util.stream.Gatherer;
 import java.util.stream.Gatherer.Integrator;
 import java.util.stream.Stream;
 
+import org.jspecify.annotations.Nullable;
+
+import dk.clanie.core.collections.Tuple;
+import dk.clanie.core.collections.Tuple.Pair;
+import dk.clanie.core.concurrent.ContextPropagatingExecutor;
+import dk.clanie.core.concurrent.ContextPropagator;
+import dk.clanie.core.util.Chronological;
+import dk.clanie.exception.RuntimeIOException;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class Gatherers {
 
 
+	/** Maximum number of sorted runs merged at a time by {@link #externalSort(Comparator, Serializer, int, Path)}. */
+	public static final int MAX_MERGE_FAN_IN = 64;
+
+
 	private Gatherers() {
 		// This class is not intended to be instantiated
 	}
@@ -41,29 +92,90 @@ public class Gatherers {
 	 * <p>
 	 * Input streams must be sorted according to the comparator.
 	 * <p>
+	 * The input streams are closed when the output is complete, short-circuited or fails.
+	 * <p>
 	 * The gatherer is sequential and greedy.
 	 *
 	 * @param <T> the type of the elements
 	 * @param comparator the comparator to use for sorting
 	 * @return a gatherer that merge-sorts the input streams
+	 * @see LoserTreeMerger#gatherer(Comparator)
 	 */
 	public static <T> Gatherer<Stream<T>, ?, T> mergeSorted(Comparator<? super T> comparator) {
+		return mergeSorted(comparator, 0);
+	}
+
+
+	/**
+	 * Returns a gatherer that merge the input streams, ordering outputs using the specified comparator,
+	 * reading the input streams in parallel.
+	 * <p>
+	 * Input streams must be sorted according to the comparator.
+	 * <p>
+	 * Each input stream is read ahead on its own virtual thread into a buffer holding up to
+	 * {@code bufferSize} elements (but at least 3), so expensive input streams - like streams
+	 * reading and parsing files - are produced in parallel while the merge itself runs on the
+	 * calling thread. The output is ordered exactly like the output of {@link #mergeSorted(Comparator)}.
+	 * <p>
+	 * Reading starts when all input streams have been received, and stops when the output is
+	 * short-circuited or fails. Unlike {@link #mergeSorted(Comparator)} this gatherer pulls up
+	 * to {@code bufferSize} elements more than needed from each input stream.
+	 * <p>
+	 * The input streams are closed when the output is complete, short-circuited or fails.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param comparator the comparator to use for sorting
+	 * @param bufferSize maximum number of elements read ahead from each input stream
+	 * @return a gatherer that merge-sorts the input streams
+	 */
+	public static <T> Gatherer<Stream<T>, ?, T> parallelMergeSorted(Comparator<? super T> comparator, int bufferSize) {
+		if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be positive, was " + bufferSize + ".");
+		return mergeSorted(comparator, bufferSize);
+	}
+
+
+	/**
+	 * Merge-sorting gatherer, prefetching input streams if {@code bufferSize} is positive.
+	 */
+	private static <T> Gatherer<Stream<T>, ?, T> mergeSorted(Comparator<? super T> comparator, int bufferSize) {
 
 		class MergeState {
 
-			record HeapEntry<T>(T value, Iterator<T> iterator) {}
+			/** Heap entry, reused for all elements from the same stream. */
+			static final class HeapEntry<T> {
+				private T value;
+				private final Iterator<T> iterator;
+				HeapEntry(T value, Iterator<T> iterator) {
+					this.value = value;
+					this.iterator = iterator;
+				}
+				T value() {
+					return value;
+				}
+			}
 
 			private final PriorityQueue<HeapEntry<T>> heap = new PriorityQueue<>(Comparator.comparing(HeapEntry::value, comparator));
+			private final List<Stream<T>> streams = new ArrayList<>(); // Closed by finish, unless handed to a prefetcher
+			private final List<PrefetchingIterator<T>> prefetchers = new ArrayList<>();
 
 			/**
 			 * Pushes 1st element from each stream onto the heap anong with an iterator for that stream.
+			 * <p>
+			 * When prefetching, the stream is just kept; prefetching starts in finish, so no
+			 * reader thread can outlive a pipeline that fails before reaching the finisher.
 			 */
 			boolean integrate(Stream<T> stream, Gatherer.Downstream<? super T> downstream) {
-				Iterator<T> iterator = stream.iterator();
+				streams.add(stream);
+				if (bufferSize == 0) push(stream.iterator());
+				return true;
+			}
+
+			private void push(Iterator<T> iterator) {
 				if (iterator.hasNext()) {
 					heap.add(new HeapEntry<>(iterator.next(), iterator));
 				}
-				return true;
 			}
 
 			/**
@@ -71,14 +183,25 @@ public class Gatherers {
 			 * adds the next element from the same stream to the heap.
 			 */
 			void finish(Gatherer.Downstream<? super T> downstream) {
-				while (!heap.isEmpty() && !downstream.isRejecting()) {
-					HeapEntry<T> entry = heap.poll();
-					T value = entry.value;
-					Iterator<T> iterator = entry.iterator;
-					if (iterator.hasNext()) {
-						heap.add(new HeapEntry<>(iterator.next(), iterator));
+				try {
+					if (bufferSize > 0) {
+						for (Stream<T> stream : streams) prefetchers.add(new PrefetchingIterator<>(stream, bufferSize));
+						streams.clear(); // Closed by the prefetchers
+						prefetchers.forEach(this::push);
 					}
-					if (!downstream.push(value)) break;
+					while (!heap.isEmpty() && !downstream.isRejecting()) {
+						HeapEntry<T> entry = heap.poll();
+						T value = entry.value;
+						Iterator<T> iterator = entry.iterator;
+						if (iterator.hasNext()) {
+							entry.value = iterator.next();
+							heap.add(entry);
+						}
+						if (!downstream.push(value)) break;
+					}
+				} finally {
+					prefetchers.forEach(PrefetchingIterator::cancel);
+					streams.forEach(Stream::close);
 				}
 			}
 
@@ -92,6 +215,290 @@ public class Gatherers {
 	}
 
 
+	/**
+	 * Iterator reading a Stream ahead on a virtual thread.
+	 * <p>
+	 * Elements are handed over in batches through a bounded queue, to keep
+	 * synchronization overhead low. The queue is sized so the batches queued, the
+	 * batch being filled and the batch being consumed hold no more than
+	 * {@code bufferSize} elements, or 3 if {@code bufferSize} is less than that.
+	 * Exceptions thrown by the stream are rethrown by the iterator.
+	 * The stream is closed by the reader thread when done or cancelled.
+	 */
+	private static final class PrefetchingIterator<T> implements Iterator<T> {
+
+		private static final Object[] END = new Object[0];
+
+		private final BlockingQueue<Object[]> queue;
+		private final Thread producer;
+		private volatile Throwable failure;
+		private Object[] batch;
+		private int index;
+
+		PrefetchingIterator(Stream<T> stream, int bufferSize) {
+			int batchSize = Math.max(1, bufferSize / 4);
+			queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize / batchSize - 2));
+			producer = Thread.ofVirtual().name("mergeSorted-prefetch").start(() -> produce(stream, batchSize));
+		}
+
+		private void produce(Stream<T> stream, int batchSize) {
+			try (stream) {
+				try {
+					Iterator<T> iterator = stream.iterator();
+					Object[] buffer = new Object[batchSize];
+					int count = 0;
+					while (iterator.hasNext()) {
+						buffer[count++] = iterator.next();
+						if (count == batchSize) {
+							queue.put(buffer);
+							buffer = new Object[batchSize];
+							count = 0;
+						}
+					}
+					if (count > 0) queue.put(Arrays.copyOf(buffer, count));
+				} catch (InterruptedException e) {
+					return; // Cancelled
+				} catch (Throwable t) {
+					failure = t;
+				}
+				queue.put(END);
+			} catch (InterruptedException e) {
+				// Cancelled
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (batch != null && index < batch.length) return true;
+			if (batch == END) return false;
+			try {
+				batch = queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancel();
+				throw new IllegalStateException("Interrupted while waiting for input.", e);
+			}
+			index = 0;
+			if (batch == END) {
+				Throwable t = failure;
+				if (t instanceof RuntimeException re) throw re;
+				if (t instanceof Error error) throw error;
+				if (t != null) throw new IllegalStateException("Input stream failed.", t);
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			T value = (T) batch[index];
+			batch[index++] = null; // Let it be garbage collected
+			return value;
+		}
+
+		void cancel() {
+			producer.interrupt();
+		}
+
+	}
+
+
+	/**
+	 * Returns a gatherer that sorts the input elements using the specified comparator,
+	 * spilling sorted runs to temporary files so streams larger than memory can be sorted.
+	 * <p>
+	 * Same as {@link #externalSort(Comparator, Serializer, int, Path)} using the default temporary-file directory.
+	 */
+	public static <T> Gatherer<T, ?, T> externalSort(Comparator<? super T> comparator, Serializer<T> serializer, int memoryBudget) {
+		return externalSort(comparator, serializer, memoryBudget, null);
+	}
+
+
+	/**
+	 * Returns a gatherer that sorts the input elements using the specified comparator,
+	 * spilling sorted runs to temporary files so streams larger than memory can be sorted.
+	 * <p>
+	 * Elements are buffered in memory until {@code memoryBudget} elements have been
+	 * collected. The buffer is then sorted, in parallel, and written to a temporary
+	 * file with given serializer. When the input is exhausted the runs, and the
+	 * elements still in memory, are merged by a {@link LoserTreeMerger}. If the
+	 * input fits in the budget nothing is written to disk.
+	 * <p>
+	 * At most {@value #MAX_MERGE_FAN_IN} runs are open at a time, each with a 64 KB read buffer.
+	 * If there are more runs than that, groups of runs are first merged into longer runs,
+	 * in as many passes as needed.
+	 * <p>
+	 * The sort is stable. Temporary files are deleted as soon as they have been
+	 * read, or when the output is short-circuited or fails. Runs are written while
+	 * the input is consumed, but only deleted by the gatherer's finisher, so if the
+	 * input fails, or the stream is abandoned before the finisher runs, they are left in
+	 * {@code tempDir}.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param comparator the comparator to use for sorting
+	 * @param serializer serializer used to write and read runs
+	 * @param memoryBudget maximum number of elements held in memory
+	 * @param tempDir directory for the temporary files, or null for the default temporary-file directory
+	 * @return a gatherer that sorts the input elements
+	 * @throws RuntimeIOException if writing or reading a run fails
+	 */
+	public static <T> Gatherer<T, ?, T> externalSort(Comparator<? super T> comparator, Serializer<T> serializer, int memoryBudget, @Nullable Path tempDir) {
+		if (memoryBudget < 1) throw new IllegalArgumentException("Memory budget must be positive, was " + memoryBudget + ".");
+		requireNonNull(comparator);
+		requireNonNull(serializer);
+
+		class ExternalSort {
+
+			private List<T> buffer = new ArrayList<>();
+			private List<SpilledRun<T>> runs = new ArrayList<>();
+			private final List<SpilledRun<T>> allRuns = new ArrayList<>(); // Including merged runs, deleted by finish
+
+			boolean integrate(T value, Gatherer.Downstream<? super T> downstream) {
+				buffer.add(value);
+				if (buffer.size() >= memoryBudget) {
+					runs.add(spill(sorted(buffer).iterator()));
+					buffer = new ArrayList<>();
+				}
+				return true;
+			}
+
+			void finish(Gatherer.Downstream<? super T> downstream) {
+				try {
+					// Merge groups of runs until they can be merged with the buffer in one go
+					while (runs.size() >= MAX_MERGE_FAN_IN) {
+						List<SpilledRun<T>> merged = new ArrayList<>();
+						for (int i = 0; i < runs.size(); i += MAX_MERGE_FAN_IN) {
+							List<SpilledRun<T>> group = runs.subList(i, Math.min(i + MAX_MERGE_FAN_IN, runs.size()));
+							merged.add(group.size() == 1 ? group.get(0)
+									: spill(new LoserTreeMerger<>(group.stream().map(SpilledRun::open).toList(), comparator)));
+						}
+						runs = merged;
+					}
+					List<Iterator<T>> inputs = new ArrayList<>(runs.size() + 1);
+					for (SpilledRun<T> run : runs) inputs.add(run.open());
+					inputs.add(sorted(buffer).iterator());
+					buffer = null;
+					Iterator<T> merged = inputs.size() == 1 ? inputs.get(0) : new LoserTreeMerger<>(inputs, comparator);
+					while (merged.hasNext() && !downstream.isRejecting()) {
+						if (!downstream.push(merged.next())) break;
+					}
+				} finally {
+					allRuns.forEach(SpilledRun::delete);
+				}
+			}
+
+			private SpilledRun<T> spill(Iterator<T> sorted) {
+				SpilledRun<T> run = new SpilledRun<>(sorted, serializer, tempDir);
+				allRuns.add(run);
+				return run;
+			}
+
+			@SuppressWarnings("unchecked")
+			private List<T> sorted(List<T> elements) {
+				T[] array = (T[]) elements.toArray();
+				Arrays.parallelSort(array, comparator);
+				return Arrays.asList(array);
+			}
+
+		}
+
+		return Gatherer.<T, ExternalSort, T>ofSequential(
+				ExternalSort::new, // Initializer
+				Integrator.<ExternalSort, T, T>ofGreedy(ExternalSort::integrate), // Integrator
+				ExternalSort::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Sorted run spilled to a temporary file by {@link #externalSort(Comparator, Serializer, int, Path)}.
+	 */
+	private static final class SpilledRun<T> {
+
+		private static final int BUFFER_SIZE = 64 * 1024;
+
+		private final Path file;
+		private final long size;
+		private final Serializer<T> serializer;
+		private DataInputStream in;
+
+		/**
+		 * Writes given sorted elements to a new temporary file, which is deleted again if writing fails.
+		 */
+		SpilledRun(Iterator<T> sorted, Serializer<T> serializer, @Nullable Path tempDir) {
+			this.serializer = serializer;
+			try {
+				file = tempDir == null ? Files.createTempFile("externalSort", ".run") : Files.createTempFile(tempDir, "externalSort", ".run");
+			} catch (IOException e) {
+				throw new RuntimeIOException("Failed to create sorted run.", e);
+			}
+			long count = 0;
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+				while (sorted.hasNext()) {
+					serializer.write(sorted.next(), out);
+					count++;
+				}
+			} catch (IOException e) {
+				delete();
+				throw new RuntimeIOException("Failed to write sorted run " + file + ".", e);
+			} catch (RuntimeException | Error e) {
+				delete();
+				throw e;
+			}
+			size = count;
+		}
+
+		/**
+		 * Opens the run for reading.
+		 */
+		Iterator<T> open() {
+			try {
+				in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+			} catch (IOException e) {
+				throw new RuntimeIOException("Failed to open sorted run " + file + ".", e);
+			}
+			return new Iterator<T>() {
+				private long remaining = size;
+				@Override
+				public boolean hasNext() {
+					if (remaining > 0) return true;
+					delete();
+					return false;
+				}
+				@Override
+				public T next() {
+					if (!hasNext()) throw new NoSuchElementException();
+					try {
+						T value = serializer.read(in);
+						remaining--;
+						return value;
+					} catch (IOException e) {
+						throw new RuntimeIOException("Failed to read sorted run " + file + ".", e);
+					}
+				}
+			};
+		}
+
+		/**
+		 * Closes and deletes the file, if not already done.
+		 */
+		void delete() {
+			try {
+				if (in != null) in.close();
+				in = null;
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				log.warn("Failed to delete sorted run {}.", file, e);
+			}
+		}
+
+	}
+
+
 	/**
 	 * Returns a gatherer that groups the input elements according to the specified comparator.
 	 * <p>
@@ -135,4 +542,1110 @@ public class Gatherers {
 	}
 
 
+	/**
+	 * Returns a gatherer that groups the input elements according to the specified comparator,
+	 * and reduces each group using the specified collector.
+	 * <p>
+	 * Input streams must be sorted according to the comparator.
+	 * <p>
+	 * Unlike {@link #grouping(Comparator)} the elements of a group aren't buffered; each
+	 * element is accumulated as it arrives, and the collector's result is emitted when
+	 * the group ends.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param <A> the collector's accumulation type
+	 * @param <R> the type of the results
+	 * @param comparator
+	 * @param collector collector reducing the elements of each group
+	 * @return a gatherer that emits one result for each group of input elements
+	 */
+	public static <T, A, R> Gatherer<T, ?, R> groupingReduce(Comparator<? super T> comparator, Collector<? super T, A, R> collector) {
+		requireNonNull(comparator);
+		Supplier<A> supplier = collector.supplier();
+		BiConsumer<A, ? super T> accumulator = collector.accumulator();
+		Function<A, R> finisher = collector.finisher();
+
+		class GroupingReduce {
+
+			private T first;
+			private A container;
+			private boolean accepting = true;
+
+			boolean integrate(T value, Gatherer.Downstream<? super R> downstream) {
+				if (container != null && comparator.compare(first, value) != 0) {
+					accepting = downstream.push(finisher.apply(container));
+					container = null;
+				}
+				if (container == null) {
+					first = value;
+					container = supplier.get();
+				}
+				accumulator.accept(container, value);
+				return accepting;
+			}
+
+			void finish(Gatherer.Downstream<? super R> downstream) {
+				if (accepting && container != null) downstream.push(finisher.apply(container));
+			}
+
+		}
+
+		return Gatherer.<T, GroupingReduce, R>ofSequential(
+				GroupingReduce::new, // Initializer
+				Integrator.<GroupingReduce, T, R>ofGreedy(GroupingReduce::integrate), // Integrator
+				GroupingReduce::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer that groups the input elements according to the specified comparator,
+	 * and folds each group into a single result.
+	 * <p>
+	 * Input streams must be sorted according to the comparator.
+	 * <p>
+	 * Each group starts with a fresh result from {@code seed}, and each element of the group
+	 * is folded into the result as it arrives. The result is emitted when the group ends.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param <R> the type of the results
+	 * @param comparator
+	 * @param seed supplier of the initial result of each group
+	 * @param folder function folding an element into the result
+	 * @return a gatherer that emits one result for each group of input elements
+	 */
+	public static <T, R> Gatherer<T, ?, R> groupingFold(Comparator<? super T> comparator, Supplier<? extends R> seed, BiFunction<? super R, ? super T, ? extends R> folder) {
+		requireNonNull(comparator);
+		requireNonNull(seed);
+		requireNonNull(folder);
+
+		class GroupingFold {
+
+			private T first;
+			private R result;
+			private boolean inGroup;
+			private boolean accepting = true;
+
+			boolean integrate(T value, Gatherer.Downstream<? super R> downstream) {
+				if (inGroup && comparator.compare(first, value) != 0) {
+					accepting = downstream.push(result);
+					inGroup = false;
+				}
+				if (!inGroup) {
+					first = value;
+					result = seed.get();
+					inGroup = true;
+				}
+				result = folder.apply(result, value);
+				return accepting;
+			}
+
+			void finish(Gatherer.Downstream<? super R> downstream) {
+				if (accepting && inGroup) downstream.push(result);
+			}
+
+		}
+
+		return Gatherer.<T, GroupingFold, R>ofSequential(
+				GroupingFold::new, // Initializer
+				Integrator.<GroupingFold, T, R>ofGreedy(GroupingFold::integrate), // Integrator
+				GroupingFold::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer performing an inner merge-join of the input elements with given right-hand stream.
+	 * <p>
+	 * Emits a Pair for each combination of a left and a right element with equal keys.
+	 * See {@link #mergeJoin(Stream, Function, Function, Comparator, JoinType, BiFunction)}.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <L> the type of the input elements
+	 * @param <R> the type of the right-hand elements
+	 * @param <K> the type of the keys
+	 * @param right right-hand stream, sorted by key
+	 * @param leftKey function extracting the key of input elements
+	 * @param rightKey function extracting the key of right-hand elements
+	 * @param comparator the comparator both streams are sorted by
+	 * @return a gatherer joining the input elements with the right-hand stream
+	 */
+	public static <L, R, K> Gatherer<L, ?, Pair<L, R>> innerJoin(Stream<R> right,
+			Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey, Comparator<? super K> comparator) {
+		return mergeJoin(right, leftKey, rightKey, comparator, JoinType.INNER, Tuple::of);
+	}
+
+
+	/**
+	 * Returns a gatherer performing a left outer merge-join of the input elements with given right-hand stream.
+	 * <p>
+	 * Like {@link #innerJoin(Stream, Function, Function, Comparator)}, but input elements
+	 * without a match are emitted paired with null.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <L> the type of the input elements
+	 * @param <R> the type of the right-hand elements
+	 * @param <K> the type of the keys
+	 * @param right right-hand stream, sorted by key
+	 * @param leftKey function extracting the key of input elements
+	 * @param rightKey function extracting the key of right-hand elements
+	 * @param comparator the comparator both streams are sorted by
+	 * @return a gatherer joining the input elements with the right-hand stream
+	 */
+	public static <L, R, K> Gatherer<L, ?, Pair<L, R>> leftJoin(Stream<R> right,
+			Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey, Comparator<? super K> comparator) {
+		return mergeJoin(right, leftKey, rightKey, comparator, JoinType.LEFT, Tuple::of);
+	}
+
+
+	/**
+	 * Returns a gatherer performing a full outer merge-join of the input elements with given right-hand stream.
+	 * <p>
+	 * Like {@link #innerJoin(Stream, Function, Function, Comparator)}, but elements from
+	 * either side without a match are emitted paired with null.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <L> the type of the input elements
+	 * @param <R> the type of the right-hand elements
+	 * @param <K> the type of the keys
+	 * @param right right-hand stream, sorted by key
+	 * @param leftKey function extracting the key of input elements
+	 * @param rightKey function extracting the key of right-hand elements
+	 * @param comparator the comparator both streams are sorted by
+	 * @return a gatherer joining the input elements with the right-hand stream
+	 */
+	public static <L, R, K> Gatherer<L, ?, Pair<L, R>> fullJoin(Stream<R> right,
+			Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey, Comparator<? super K> comparator) {
+		return mergeJoin(right, leftKey, rightKey, comparator, JoinType.FULL, Tuple::of);
+	}
+
+
+	/**
+	 * Returns a gatherer merge-joining the input elements with given right-hand stream.
+	 * <p>
+	 * Both the input and the right-hand stream must be sorted by their keys according to
+	 * the comparator; they are then joined in a single pass. Only the right-hand elements
+	 * with the current key are held in memory, so memory use is proportional to the
+	 * largest group of equal keys in the right-hand stream rather than to its size.
+	 * <p>
+	 * For each input element the results are emitted in the order of the matching
+	 * right-hand elements. In outer joins the mapper gets null for the missing side.
+	 * The right-hand stream is consumed lazily, can only be used once and is closed
+	 * when the join completes or is short-circuited.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <L> the type of the input elements
+	 * @param <R> the type of the right-hand elements
+	 * @param <K> the type of the keys
+	 * @param <O> the type of the results
+	 * @param right right-hand stream, sorted by key
+	 * @param leftKey function extracting the key of input elements
+	 * @param rightKey function extracting the key of right-hand elements
+	 * @param comparator the comparator both streams are sorted by
+	 * @param type join type
+	 * @param mapper function producing the result of a pair of left and right elements
+	 * @return a gatherer joining the input elements with the right-hand stream
+	 *
+	 * @see MergeJoinIterator
+	 */
+	public static <L, R, K, O> Gatherer<L, ?, O> mergeJoin(Stream<R> right,
+			Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey, Comparator<? super K> comparator,
+			JoinType type, BiFunction<? super L, ? super R, ? extends O> mapper) {
+		requireNonNull(right);
+		requireNonNull(leftKey);
+		requireNonNull(rightKey);
+		requireNonNull(comparator);
+		requireNonNull(type);
+		requireNonNull(mapper);
+
+		class MergeJoin {
+
+			private MergeJoiner<L, R, K, O> joiner;
+			private boolean accepting = true;
+
+			/**
+			 * Gets the joiner, taking the right-hand iterator on first use.
+			 */
+			private MergeJoiner<L, R, K, O> joiner() {
+				if (joiner == null) joiner = new MergeJoiner<>(right.iterator(), leftKey, rightKey, comparator, type, mapper);
+				return joiner;
+			}
+
+			boolean integrate(L value, Gatherer.Downstream<? super O> downstream) {
+				accepting = joiner().accept(value, downstream::push);
+				return accepting;
+			}
+
+			/**
+			 * Emits the remaining results, closing the right-hand stream when done, stopped or failed.
+			 */
+			void finish(Gatherer.Downstream<? super O> downstream) {
+				try {
+					if (accepting) joiner().finish(downstream::push);
+				} finally {
+					right.close();
+				}
+			}
+
+		}
+
+		return Gatherer.<L, MergeJoin, O>ofSequential(
+				MergeJoin::new, // Initializer
+				Integrator.<MergeJoin, L, O>ofGreedy(MergeJoin::integrate), // Integrator
+				MergeJoin::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer dropping elements equal to the element before them.
+	 * <p>
+	 * For sorted input, where equal elements are adjacent, this is equivalent to
+	 * {@link Stream#distinct()}, but only the previous element is kept in memory.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @return a gatherer dropping adjacent duplicates
+	 */
+	public static <T> Gatherer<T, ?, T> distinctSorted() {
+
+		class DistinctSorted {
+
+			private T previous;
+			private boolean first = true;
+
+			boolean integrate(T value, Gatherer.Downstream<? super T> downstream) {
+				if (!first && Objects.equals(previous, value)) return true;
+				first = false;
+				previous = value;
+				return downstream.push(value);
+			}
+
+		}
+
+		return Gatherer.<T, DistinctSorted, T>ofSequential(
+				DistinctSorted::new, // Initializer
+				Integrator.<DistinctSorted, T, T>ofGreedy(DistinctSorted::integrate)); // Integrator
+
+	}
+
+
+	/**
+	 * Returns a gatherer dropping elements equal to one of the {@code n} most recently seen distinct elements.
+	 * <p>
+	 * The seen elements are kept in a least recently used set of at most {@code n}
+	 * elements, so duplicates further apart than that are not detected, but memory
+	 * use is bounded. Seeing a duplicate makes it the most recently used.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param n number of distinct elements remembered
+	 * @return a gatherer dropping duplicates within a window of recent elements
+	 */
+	public static <T> Gatherer<T, ?, T> distinctWithinWindow(int n) {
+		if (n < 1) throw new IllegalArgumentException("Window size must be positive, was " + n + ".");
+
+		class DistinctWithinWindow {
+
+			private final Map<T, Boolean> seen = new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<T, Boolean> eldest) {
+					return size() > n;
+				}
+			};
+
+			boolean integrate(T value, Gatherer.Downstream<? super T> downstream) {
+				if (seen.put(value, Boolean.TRUE) != null) return true;
+				return downstream.push(value);
+			}
+
+		}
+
+		return Gatherer.<T, DistinctWithinWindow, T>ofSequential(
+				DistinctWithinWindow::new, // Initializer
+				Integrator.<DistinctWithinWindow, T, T>ofGreedy(DistinctWithinWindow::integrate)); // Integrator
+
+	}
+
+
+	/**
+	 * Returns a gatherer dropping elements with keys already seen, according to a Bloom filter.
+	 * <p>
+	 * The keys are reduced to 64 bit hashes: Strings by a 64 bit FNV-1a hash of their
+	 * characters, Longs and Doubles by their bits, and other keys by combining their
+	 * {@code hashCode()} with a 64 bit hash of their {@code toString()}, so keys with
+	 * colliding hash codes are still told apart. Keys should have a {@code toString()}
+	 * consistent with {@code equals()}. To hash keys some other way, use
+	 * {@link #distinctApproxByHash(long, double, ToLongFunction)}.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param expectedItems expected number of distinct keys
+	 * @param fpp acceptable false positive probability, between 0 and 1 exclusive
+	 * @param keyExtractor function extracting the key to deduplicate by
+	 * @return a gatherer dropping duplicates, and occasionally an element that isn't
+	 */
+	public static <T> Gatherer<T, ?, T> distinctApprox(long expectedItems, double fpp, Function<? super T, ?> keyExtractor) {
+		requireNonNull(keyExtractor);
+		return distinctApproxByHash(expectedItems, fpp, value -> hash64(keyExtractor.apply(value)));
+	}
+
+
+	/**
+	 * Gets a 64 bit hash of given key.
+	 */
+	private static long hash64(@Nullable Object key) {
+		return switch (key) {
+			case null -> 0L;
+			case String s -> fnv1a64(s);
+			case Long l -> l;
+			case Double d -> Double.doubleToLongBits(d);
+			default -> fnv1a64(key.toString()) ^ (key.hashCode() * 0x9E3779B97F4A7C15L);
+		};
+	}
+
+
+	/**
+	 * 64 bit FNV-1a hash of the characters of given String.
+	 */
+	private static long fnv1a64(String s) {
+		long h = 0xCBF29CE484222325L;
+		for (int i = 0; i < s.length(); i++) {
+			h ^= s.charAt(i);
+			h *= 0x100000001B3L;
+		}
+		return h;
+	}
+
+
+	/**
+	 * Returns a gatherer dropping elements with 64 bit key hashes already seen, according to a Bloom filter.
+	 * <p>
+	 * The Bloom filter is sized from the expected number of distinct keys and the acceptable
+	 * false positive probability, and doesn't grow: about {@code -expectedItems * ln(fpp) / ln(2)^2}
+	 * bits, or 1.2 MB for a million keys at 1%. Duplicates are always dropped, but a
+	 * false positive drops an element with a new key; the probability of that exceeds
+	 * {@code fpp} once more than {@code expectedItems} distinct keys have been seen.
+	 * Elements with equal hashes are considered duplicates, so the hasher should spread
+	 * the keys over all 64 bits.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param expectedItems expected number of distinct keys
+	 * @param fpp acceptable false positive probability, between 0 and 1 exclusive
+	 * @param keyHasher function returning a 64 bit hash of the key to deduplicate by
+	 * @return a gatherer dropping duplicates, and occasionally an element that isn't
+	 */
+	public static <T> Gatherer<T, ?, T> distinctApproxByHash(long expectedItems, double fpp, ToLongFunction<? super T> keyHasher) {
+		if (expectedItems < 1) throw new IllegalArgumentException("Expected items must be positive, was " + expectedItems + ".");
+		if (!(fpp > 0d && fpp < 1d)) throw new IllegalArgumentException("False positive probability must be between 0 and 1, was " + fpp + ".");
+		requireNonNull(keyHasher);
+
+		return Gatherer.<T, BloomFilter, T>ofSequential(
+				() -> new BloomFilter(expectedItems, fpp), // Initializer
+				Integrator.<BloomFilter, T, T>ofGreedy((filter, value, downstream) ->
+					filter.add(keyHasher.applyAsLong(value)) || downstream.push(value))); // Integrator
+
+	}
+
+
+	/**
+	 * Fixed size Bloom filter of 64 bit hashes, using double hashing to derive the bit positions.
+	 */
+	private static final class BloomFilter {
+
+		private static final long MAX_BITS = (Integer.MAX_VALUE - 8) * 64L; // Words in the largest array allowed
+
+		private final long[] words;
+		private final long bitCount;
+		private final int hashCount;
+
+
+		BloomFilter(long expectedItems, double fpp) {
+			double ln2 = Math.log(2);
+			long bits = Math.min(MAX_BITS, Math.max(64, (long) Math.ceil(-expectedItems * Math.log(fpp) / (ln2 * ln2))));
+			words = new long[(int) ((bits + 63) >>> 6)];
+			bitCount = words.length * 64L;
+			hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedItems * ln2));
+		}
+
+
+		/**
+		 * Adds given hash.
+		 *
+		 * @return true if the hash might have been added before
+		 */
+		boolean add(long hash) {
+			long h1 = mix(hash ^ 0x9E3779B97F4A7C15L); // So hash 0 doesn't give h1 0
+			long h2 = mix(h1) | 1L; // Odd, so never 0
+			boolean present = true;
+			for (int i = 0; i < hashCount; i++) {
+				long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+				int word = (int) (bit >>> 6);
+				long mask = 1L << bit;
+				if ((words[word] & mask) == 0) {
+					present = false;
+					words[word] |= mask;
+				}
+			}
+			return present;
+		}
+
+
+		/**
+		 * Spreads the bits of a hash (MurmurHash3 finalizer); a bijection, so distinct hashes stay distinct.
+		 */
+		private static long mix(long hash) {
+			long h = hash;
+			h ^= h >>> 33;
+			h *= 0xFF51AFD7ED558CCDL;
+			h ^= h >>> 33;
+			h *= 0xC4CEB93FE1A85B1BL;
+			return h ^ (h >>> 33);
+		}
+
+	}
+
+
+	/**
+	 * Returns a gatherer emitting the {@code n} greatest input elements, greatest first.
+	 * <p>
+	 * The elements are kept in a heap of at most {@code n} elements, so each element
+	 * takes O(log n) time and memory use is bounded regardless of the size of the input.
+	 * With a reversed comparator the gatherer emits the {@code n} least elements.
+	 * Nothing is emitted until the input is exhausted.
+	 * <p>
+	 * The gatherer can be evaluated in parallel, merging the heaps of each part.
+	 *
+	 * @param <T> the type of the elements
+	 * @param n number of elements to emit
+	 * @param comparator comparator ordering the elements
+	 * @return a gatherer emitting the greatest elements
+	 */
+	public static <T> Gatherer<T, ?, T> topN(int n, Comparator<? super T> comparator) {
+		if (n < 1) throw new IllegalArgumentException("N must be positive, was " + n + ".");
+		requireNonNull(comparator);
+
+		class TopN {
+
+			private final PriorityQueue<T> heap = new PriorityQueue<>(Math.min(n, 1024), comparator); // Least on top
+
+			boolean integrate(T value) {
+				if (heap.size() < n) {
+					heap.add(value);
+				} else if (comparator.compare(value, heap.peek()) > 0) {
+					heap.poll();
+					heap.add(value);
+				}
+				return true;
+			}
+
+			TopN combine(TopN other) {
+				for (T value : other.heap) integrate(value);
+				return this;
+			}
+
+			void finish(Gatherer.Downstream<? super T> downstream) {
+				@SuppressWarnings("unchecked")
+				T[] top = (T[]) heap.toArray();
+				Arrays.sort(top, comparator.reversed());
+				for (T value : top) {
+					if (!downstream.push(value)) return;
+				}
+			}
+
+		}
+
+		return Gatherer.<T, TopN, T>of(
+				TopN::new, // Initializer
+				Integrator.<TopN, T, T>ofGreedy((state, value, _) -> state.integrate(value)), // Integrator
+				TopN::combine, // Combiner
+				TopN::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer estimating given quantiles of the input values.
+	 * <p>
+	 * The values are added to a {@link KllSketch}, so the memory used is a few kilobytes
+	 * regardless of the number of values, and the estimates have a rank error of about 1.7%.
+	 * Once the input is exhausted, a single array with the estimates, in the order of
+	 * the quantiles, is emitted; for example {@code quantiles(0.5, 0.99)} gives the median
+	 * and the 99th percentile. Nothing is emitted for an empty input. NaN values are ignored.
+	 * <p>
+	 * The gatherer can be evaluated in parallel, merging the sketches of each part.
+	 *
+	 * @param quantiles the quantiles to estimate, between 0 and 1, inclusive
+	 * @return a gatherer emitting the estimated quantiles
+	 */
+	public static Gatherer<Number, ?, double[]> quantiles(double... quantiles) {
+		double[] qs = quantiles.clone();
+		for (double q : qs) KllSketch.checkQuantile(q);
+
+		return Gatherer.<Number, KllSketch, double[]>of(
+				KllSketch::new, // Initializer
+				Integrator.<KllSketch, Number, double[]>ofGreedy((sketch, value, _) -> {
+					sketch.update(value.doubleValue());
+					return true;
+				}), // Integrator
+				(sketch, other) -> {
+					sketch.merge(other);
+					return sketch;
+				}, // Combiner
+				(sketch, downstream) -> {
+					if (sketch.count() > 0) downstream.push(sketch.quantiles(qs));
+				}); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer that collects the input elements into chunks of up to {@code size} elements.
+	 * <p>
+	 * Only the last chunk may be smaller than {@code size}.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param size maximum number of elements in each chunk
+	 * @return a gatherer that chunks the input elements
+	 */
+	public static <T> Gatherer<T, ?, List<T>> chunked(int size) {
+		return chunked(size, Long.MAX_VALUE, _ -> 0L);
+	}
+
+
+	/**
+	 * Returns a gatherer that collects the input elements into chunks of up to {@code maxSize}
+	 * elements with a total weight of at most {@code maxWeight}.
+	 * <p>
+	 * An element which alone weighs more than {@code maxWeight} gets a chunk of its own.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param maxSize maximum number of elements in each chunk
+	 * @param maxWeight maximum total weight of the elements in each chunk
+	 * @param weigher function computing the weight of an element
+	 * @return a gatherer that chunks the input elements
+	 */
+	public static <T> Gatherer<T, ?, List<T>> chunked(int maxSize, long maxWeight, ToLongFunction<? super T> weigher) {
+		if (maxSize < 1) throw new IllegalArgumentException("Chunk size must be positive, was " + maxSize + ".");
+		if (maxWeight < 0) throw new IllegalArgumentException("Max weight must not be negative, was " + maxWeight + ".");
+		requireNonNull(weigher);
+
+		class Chunking {
+
+			private List<T> chunk = new ArrayList<>();
+			private long weight;
+
+			boolean integrate(T value, Gatherer.Downstream<? super List<T>> downstream) {
+				long valueWeight = weigher.applyAsLong(value);
+				if (!chunk.isEmpty() && valueWeight > maxWeight - weight) {
+					if (!pushChunk(downstream)) return false;
+				}
+				chunk.add(value);
+				weight += valueWeight;
+				return chunk.size() < maxSize || pushChunk(downstream);
+			}
+
+			private boolean pushChunk(Gatherer.Downstream<? super List<T>> downstream) {
+				List<T> full = chunk;
+				chunk = new ArrayList<>();
+				weight = 0;
+				return downstream.push(full);
+			}
+
+			void finish(Gatherer.Downstream<? super List<T>> downstream) {
+				if (!chunk.isEmpty() && !downstream.isRejecting()) downstream.push(chunk);
+			}
+
+		}
+
+		return Gatherer.<T, Chunking, List<T>>ofSequential(
+				Chunking::new, // Initializer
+				Integrator.<Chunking, T, List<T>>ofGreedy(Chunking::integrate), // Integrator
+				Chunking::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer limiting the rate of elements passing through to {@code permitsPerSecond}.
+	 * <p>
+	 * Elements are spaced evenly; see {@link #throttle(double, int)}.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param permitsPerSecond maximum number of elements per second
+	 * @return a gatherer throttling the elements
+	 */
+	public static <T> Gatherer<T, ?, T> throttle(double permitsPerSecond) {
+		return throttle(permitsPerSecond, 1);
+	}
+
+
+	/**
+	 * Returns a gatherer limiting the rate of elements passing through to {@code permitsPerSecond},
+	 * allowing bursts of up to {@code burst} elements.
+	 * <p>
+	 * Implemented as a token bucket holding up to {@code burst} tokens, refilled at
+	 * {@code permitsPerSecond}; each element takes a token. When the bucket is empty the
+	 * thread running the stream sleeps until a token is available, so nothing is busy-waiting,
+	 * and on a virtual thread the carrier thread is released meanwhile. If the thread is
+	 * interrupted while sleeping, the interrupt status is restored and a RuntimeException thrown.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param permitsPerSecond maximum sustained number of elements per second
+	 * @param burst maximum number of elements passed through without delay after a pause
+	 * @return a gatherer throttling the elements
+	 */
+	public static <T> Gatherer<T, ?, T> throttle(double permitsPerSecond, int burst) {
+		if (!(permitsPerSecond > 0d)) throw new IllegalArgumentException("Permits per second must be positive, was " + permitsPerSecond + ".");
+		if (burst < 1) throw new IllegalArgumentException("Burst must be positive, was " + burst + ".");
+		double permitsPerNano = permitsPerSecond / 1e9;
+
+		class Throttle {
+
+			private double tokens = burst;
+			private long refilled = System.nanoTime();
+
+			boolean integrate(T value, Gatherer.Downstream<? super T> downstream) {
+				refill();
+				if (tokens < 1d) {
+					try {
+						Thread.sleep(Duration.ofNanos((long) Math.ceil((1d - tokens) / permitsPerNano)));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RuntimeException("Interrupted while throttling.", e);
+					}
+					refill();
+				}
+				tokens = Math.max(0d, tokens - 1d);
+				return downstream.push(value);
+			}
+
+			private void refill() {
+				long now = System.nanoTime();
+				tokens = Math.min(burst, tokens + (now - refilled) * permitsPerNano);
+				refilled = now;
+			}
+
+		}
+
+		return Gatherer.<T, Throttle, T>ofSequential(
+				Throttle::new, // Initializer
+				Integrator.<Throttle, T, T>ofGreedy(Throttle::integrate)); // Integrator
+
+	}
+
+	/**
+	 * Returns a gatherer mapping the input elements concurrently on virtual threads,
+	 * propagating the context of the stream's thread, and emitting the results in encounter order.
+	 * <p>
+	 * Like {@code java.util.stream.Gatherers.mapConcurrent}, but each mapping runs with
+	 * the context (MDC, security context, locale, etc.) captured by given
+	 * {@link ContextPropagator} on the thread running the stream.
+	 * At most {@code maxConcurrency} mappings are in flight at a time; the input is not
+	 * pulled further until the oldest of them completes. When downstream stops accepting
+	 * results, outstanding mappings are cancelled (interrupted).
+	 * <p>
+	 * If a mapping fails, the outstanding mappings are cancelled and the failure rethrown;
+	 * checked exceptions are wrapped in a CompletionException.
+	 * <p>
+	 * Mappings run on virtual threads started directly, so there is no executor to shut down.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the input elements
+	 * @param <R> the type of the results
+	 * @param maxConcurrency maximum number of mappings in flight at a time
+	 * @param contextPropagator strategy for propagating context to the virtual threads
+	 * @param mapper function to apply to each element
+	 * @return a gatherer mapping the elements concurrently
+	 *
+	 * @see #mapConcurrentUnorderedWithContext(int, ContextPropagator, Function)
+	 */
+	public static <T, R> Gatherer<T, ?, R> mapConcurrentWithContext(int maxConcurrency, ContextPropagator contextPropagator,
+			Function<? super T, ? extends R> mapper) {
+		if (maxConcurrency < 1) throw new IllegalArgumentException("Max concurrency must be positive, was " + maxConcurrency + ".");
+		requireNonNull(contextPropagator);
+		requireNonNull(mapper);
+		Executor executor = new ContextPropagatingExecutor(Thread::startVirtualThread, contextPropagator);
+
+		class MapConcurrent {
+
+			private final ArrayDeque<Future<R>> inFlight = new ArrayDeque<>(maxConcurrency);
+
+			boolean integrate(T value, Gatherer.Downstream<? super R> downstream) {
+				if (downstream.isRejecting()) return cancel(inFlight);
+				if (inFlight.size() == maxConcurrency && !push(downstream)) return false;
+				FutureTask<R> task = new FutureTask<>(() -> mapper.apply(value));
+				inFlight.add(task);
+				executor.execute(task);
+				while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+					if (!push(downstream)) return false;
+				}
+				return true;
+			}
+
+			void finish(Gatherer.Downstream<? super R> downstream) {
+				while (!inFlight.isEmpty()) {
+					if (!push(downstream)) break;
+				}
+			}
+
+			private boolean push(Gatherer.Downstream<? super R> downstream) {
+				R result = await(inFlight.remove(), inFlight);
+				return downstream.push(result) || cancel(inFlight);
+			}
+
+		}
+
+		return Gatherer.<T, MapConcurrent, R>ofSequential(
+				MapConcurrent::new, // Initializer
+				Integrator.<MapConcurrent, T, R>ofGreedy(MapConcurrent::integrate), // Integrator
+				MapConcurrent::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer mapping the input elements concurrently on virtual threads,
+	 * propagating the context of the stream's thread, and emitting the results as they complete.
+	 * <p>
+	 * Like {@link #mapConcurrentWithContext(int, ContextPropagator, Function)}, but a slow
+	 * mapping doesn't hold back the results of those started after it, so the input is
+	 * pulled as soon as any of the mappings in flight completes.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the input elements
+	 * @param <R> the type of the results
+	 * @param maxConcurrency maximum number of mappings in flight at a time
+	 * @param contextPropagator strategy for propagating context to the virtual threads
+	 * @param mapper function to apply to each element
+	 * @return a gatherer mapping the elements concurrently
+	 */
+	public static <T, R> Gatherer<T, ?, R> mapConcurrentUnorderedWithContext(int maxConcurrency, ContextPropagator contextPropagator,
+			Function<? super T, ? extends R> mapper) {
+		if (maxConcurrency < 1) throw new IllegalArgumentException("Max concurrency must be positive, was " + maxConcurrency + ".");
+		requireNonNull(contextPropagator);
+		requireNonNull(mapper);
+		Executor executor = new ContextPropagatingExecutor(Thread::startVirtualThread, contextPropagator);
+
+		class MapConcurrentUnordered {
+
+			private final CompletionService<R> completed = new ExecutorCompletionService<>(executor);
+			private final Set<Future<R>> inFlight = new HashSet<>();
+
+			boolean integrate(T value, Gatherer.Downstream<? super R> downstream) {
+				if (downstream.isRejecting()) return cancel(inFlight);
+				if (inFlight.size() == maxConcurrency && !push(take(), downstream)) return false;
+				inFlight.add(completed.submit(() -> mapper.apply(value)));
+				Future<R> done;
+				while ((done = completed.poll()) != null) {
+					if (!push(done, downstream)) return false;
+				}
+				return true;
+			}
+
+			void finish(Gatherer.Downstream<? super R> downstream) {
+				while (!inFlight.isEmpty()) {
+					if (!push(take(), downstream)) break;
+				}
+			}
+
+			private Future<R> take() {
+				try {
+					return completed.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					cancel(inFlight);
+					throw new CompletionException("Interrupted while waiting for mapping.", e);
+				}
+			}
+
+			private boolean push(Future<R> done, Gatherer.Downstream<? super R> downstream) {
+				inFlight.remove(done);
+				R result = await(done, inFlight);
+				return downstream.push(result) || cancel(inFlight);
+			}
+
+		}
+
+		return Gatherer.<T, MapConcurrentUnordered, R>ofSequential(
+				MapConcurrentUnordered::new, // Initializer
+				Integrator.<MapConcurrentUnordered, T, R>ofGreedy(MapConcurrentUnordered::integrate), // Integrator
+				MapConcurrentUnordered::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Waits for a mapping to complete, cancelling given outstanding mappings if it failed.
+	 */
+	private static <R> R await(Future<R> future, Collection<Future<R>> outstanding) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(true);
+			cancel(outstanding);
+			throw new CompletionException("Interrupted while waiting for mapping.", e);
+		} catch (ExecutionException e) {
+			cancel(outstanding);
+			if (e.getCause() instanceof RuntimeException re) throw re;
+			if (e.getCause() instanceof Error error) throw error;
+			throw new CompletionException(e.getCause());
+		}
+	}
+
+
+	/**
+	 * Cancels given mappings.
+	 *
+	 * @return false, so it can be returned from an integrator
+	 */
+	private static boolean cancel(Collection<? extends Future<?>> outstanding) {
+		outstanding.forEach(future -> future.cancel(true));
+		outstanding.clear();
+		return false;
+	}
+
+	/**
+	 * Returns a gatherer aggregating {@link Chronological} elements in consecutive, non-overlapping, time windows.
+	 * <p>
+	 * Windows are {@code size} long and aligned to {@code origin}, so with an origin at a
+	 * whole hour and a size of one hour there is a window per hour. See
+	 * {@link #slidingWindows(Temporal, Duration, Duration, Duration, Collector)} for details.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <C> the type of the chrono keys
+	 * @param <T> the type of the elements
+	 * @param <A> the accumulation type of the collector
+	 * @param <R> the type of the aggregated results
+	 * @param origin start of a window
+	 * @param size length of the windows
+	 * @param lateness how far behind the latest chrono key elements may arrive
+	 * @param collector collector aggregating the elements of each window
+	 * @return a gatherer emitting a Window for each time window containing elements
+	 */
+	public static <C extends Temporal & Comparable<? super C>, T extends Chronological<C>, A, R> Gatherer<T, ?, Window<C, R>> tumblingWindows(
+			C origin, Duration size, Duration lateness, Collector<? super T, A, R> collector) {
+		return slidingWindows(origin, size, size, lateness, collector);
+	}
+
+
+	/**
+	 * Returns a gatherer aggregating {@link Chronological} elements in sliding time windows.
+	 * <p>
+	 * Windows are {@code size} long and start every {@code slide}, counting from {@code origin},
+	 * so each element is aggregated into every window covering its chrono key.
+	 * Elements are accumulated as they arrive, so only the accumulation of each open window
+	 * is kept in memory. A Window is emitted, in order of start, when the latest chrono key
+	 * seen, less {@code lateness}, has passed its end. Elements arriving later than that are
+	 * dropped. Windows with no elements are not emitted.
+	 * <p>
+	 * The chrono keys must support nanosecond arithmetic, such as {@link java.time.Instant}
+	 * and {@link java.time.LocalDateTime}.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <C> the type of the chrono keys
+	 * @param <T> the type of the elements
+	 * @param <A> the accumulation type of the collector
+	 * @param <R> the type of the aggregated results
+	 * @param origin start of a window
+	 * @param size length of the windows
+	 * @param slide distance between the starts of consecutive windows
+	 * @param lateness how far behind the latest chrono key elements may arrive
+	 * @param collector collector aggregating the elements of each window
+	 * @return a gatherer emitting a Window for each time window containing elements
+	 */
+	public static <C extends Temporal & Comparable<? super C>, T extends Chronological<C>, A, R> Gatherer<T, ?, Window<C, R>> slidingWindows(
+			C origin, Duration size, Duration slide, Duration lateness, Collector<? super T, A, R> collector) {
+		requireNonNull(origin);
+		requireNonNull(collector);
+		long sizeNanos = size.toNanos();
+		long slideNanos = slide.toNanos();
+		long latenessNanos = lateness.toNanos();
+		if (sizeNanos < 1) throw new IllegalArgumentException("Window size must be positive, was " + size + ".");
+		if (slideNanos < 1) throw new IllegalArgumentException("Window slide must be positive, was " + slide + ".");
+		if (latenessNanos < 0) throw new IllegalArgumentException("Lateness must not be negative, was " + lateness + ".");
+		Supplier<A> supplier = collector.supplier();
+		BiConsumer<A, ? super T> accumulator = collector.accumulator();
+		Function<A, R> finisher = collector.finisher();
+
+		class SlidingWindows {
+
+			private final TreeMap<Long, A> open = new TreeMap<>(); // Accumulations by window number
+			private long watermark = Long.MIN_VALUE;
+
+			boolean integrate(T value, Gatherer.Downstream<? super Window<C, R>> downstream) {
+				long offset = nanosBetween(origin, value.getChronoKey());
+				if (offset < watermark) {
+					log.debug("Dropping late element {}.", value);
+					return true;
+				}
+				long last = Math.floorDiv(offset, slideNanos);
+				for (long n = Math.floorDiv(offset - sizeNanos, slideNanos) + 1; n <= last; n++) {
+					accumulator.accept(open.computeIfAbsent(n, _ -> supplier.get()), value);
+				}
+				watermark = Math.max(watermark, offset - latenessNanos);
+				while (!open.isEmpty() && open.firstKey() * slideNanos + sizeNanos <= watermark) {
+					if (!push(open.pollFirstEntry(), downstream)) return false;
+				}
+				return true;
+			}
+
+			void finish(Gatherer.Downstream<? super Window<C, R>> downstream) {
+				while (!open.isEmpty() && push(open.pollFirstEntry(), downstream));
+			}
+
+			private boolean push(Map.Entry<Long, A> window, Gatherer.Downstream<? super Window<C, R>> downstream) {
+				long start = window.getKey() * slideNanos;
+				return downstream.push(new Window<>(plusNanos(origin, start), plusNanos(origin, start + sizeNanos), finisher.apply(window.getValue())));
+			}
+
+		}
+
+		return Gatherer.<T, SlidingWindows, Window<C, R>>ofSequential(
+				SlidingWindows::new, // Initializer
+				Integrator.<SlidingWindows, T, Window<C, R>>ofGreedy(SlidingWindows::integrate), // Integrator
+				SlidingWindows::finish); // Finisher
+
+	}
+
+
+	/**
+	 * Returns a gatherer aggregating {@link Chronological} elements in session windows.
+	 * <p>
+	 * A session is a run of elements where each chrono key is less than {@code gap} after
+	 * the previous one; it starts at its first chrono key and ends {@code gap} after its last.
+	 * Elements arriving out of order may bridge two sessions, which are then merged using
+	 * the collector's combiner.
+	 * <p>
+	 * Elements are accumulated as they arrive, so only the accumulation of each open session
+	 * is kept in memory. A Window is emitted, in order of start, when the latest chrono key
+	 * seen, less {@code lateness}, has passed its end. Elements arriving later than that are dropped.
+	 * <p>
+	 * The chrono keys must support nanosecond arithmetic, such as {@link java.time.Instant}
+	 * and {@link java.time.LocalDateTime}.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <C> the type of the chrono keys
+	 * @param <T> the type of the elements
+	 * @param <A> the accumulation type of the collector
+	 * @param <R> the type of the aggregated results
+	 * @param gap period of inactivity ending a session
+	 * @param lateness how far behind the latest chrono key elements may arrive
+	 * @param collector collector aggregating the elements of each session
+	 * @return a gatherer emitting a Window for each session
+	 */
+	public static <C extends Temporal & Comparable<? super C>, T extends Chronological<C>, A, R> Gatherer<T, ?, Window<C, R>> sessionWindows(
+			Duration gap, Duration lateness, Collector<? super T, A, R> collector) {
+		requireNonNull(collector);
+		long gapNanos = gap.toNanos();
+		long latenessNanos = lateness.toNanos();
+		if (gapNanos < 1) throw new IllegalArgumentException("Session gap must be positive, was " + gap + ".");
+		if (latenessNanos < 0) throw new IllegalArgumentException("Lateness must not be negative, was " + lateness + ".");
+		Supplier<A> supplier = collector.supplier();
+		BiConsumer<A, ? super T> accumulator = collector.accumulator();
+		BinaryOperator<A> combiner = collector.combiner();
+		Function<A, R> finisher = collector.finisher();
+
+		class SessionWindows {
+
+			final class Session {
+				long end;
+				A accumulation;
+			}
+
+			private C origin; // Chrono key of the first element, offsets are relative to this
+			private final TreeMap<Long, Session> open = new TreeMap<>(); // Sessions by start
+			private long watermark = Long.MIN_VALUE;
+
+			boolean integrate(T value, Gatherer.Downstream<? super Window<C, R>> downstream) {
+				if (origin == null) origin = value.getChronoKey();
+				long offset = nanosBetween(origin, value.getChronoKey());
+				if (offset < watermark) {
+					log.debug("Dropping late element {}.", value);
+					return true;
+				}
+				long start = offset;
+				Session session = new Session();
+				session.end = offset + gapNanos;
+				session.accumulation = supplier.get();
+				accumulator.accept(session.accumulation, value);
+				Map.Entry<Long, Session> previous = open.floorEntry(offset);
+				if (previous != null && previous.getValue().end > offset) {
+					start = previous.getKey();
+					Session earlier = open.remove(start);
+					session.end = Math.max(session.end, earlier.end);
+					session.accumulation = combiner.apply(earlier.accumulation, session.accumulation);
+				}
+				Map.Entry<Long, Session> following;
+				while ((following = open.ceilingEntry(offset)) != null && following.getKey() < session.end) {
+					Session later = open.remove(following.getKey());
+					session.end = Math.max(session.end, later.end);
+					session.accumulation = combiner.apply(session.accumulation, later.accumulation);
+				}
+				open.put(start, session);
+				watermark = Math.max(watermark, offset - latenessNanos);
+				while (!open.isEmpty() && open.firstEntry().getValue().end <= watermark) {
+					if (!push(open.pollFirstEntry(), downstream)) return false;
+				}
+				return true;
+			}
+
+			void finish(Gatherer.Downstream<? super Window<C, R>> downstream) {
+				while (!open.isEmpty() && push(open.pollFirstEntry(), downstream));
+			}
+
+			private boolean push(Map.Entry<Long, Session> session, Gatherer.Downstream<? super Window<C, R>> downstream) {
+				Session s = session.getValue();
+				return downstream.push(new Window<>(plusNanos(origin, session.getKey()), plusNanos(origin, s.end), finisher.apply(s.accumulation)));
+			}
+
+		}
+
+		return Gatherer.<T, SessionWindows, Window<C, R>>ofSequential(
+				SessionWindows::new, // Initializer
+				Integrator.<SessionWindows, T, Window<C, R>>ofGreedy(SessionWindows::integrate), // Integrator
+				SessionWindows::finish); // Finisher
+
+	}
+
+
+	private static long nanosBetween(Temporal from, Temporal to) {
+		return from.until(to, ChronoUnit.NANOS);
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private static <C extends Temporal> C plusNanos(C origin, long nanos) {
+		return (C) origin.plus(nanos, ChronoUnit.NANOS);
+	}
+
+
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+/**
+ * Type of join performed by the merge-join gatherers and {@link MergeJoinIterator}.
+ */
+public enum JoinType {
+
+	/** Only pairs of matching elements. */
+	INNER,
+
+	/** Pairs of matching elements, and left elements without a match paired with null. */
+	LEFT,
+
+	/** Pairs of matching elements, and elements from either side without a match paired with null. */
+	FULL
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * KLL quantile sketch of <code>double</code> values.
+ * <p>
+ * Estimates quantiles of any number of values in memory proportional to
+ * {@code k} (a few kilobytes for the default). Values are kept in levels of
+ * compactors; when a level is full it is sorted and every other value, starting
+ * at a random offset, is promoted to the next level with twice the weight.
+ * The rank error of a quantile estimate is about 1.7% for {@code k = 200} and
+ * inversely proportional to {@code k}.
+ * </p><p>
+ * Sketches can be merged, so they can be built in parallel.
+ * This class is not thread safe.
+ * </p>
+ *
+ * @see Gatherers#quantiles(double...)
+ */
+public final class KllSketch {
+
+	public static final int DEFAULT_K = 200;
+
+	private static final double CAPACITY_RATIO = 2d / 3d;
+	private static final int MIN_CAPACITY = 2;
+
+	private final int k;
+	private double[][] levels = new double[0][]; // Values in level h have weight 2^h
+	private int[] sizes = new int[0];
+	private int retained;
+	private int totalCapacity;
+	private long count;
+	private double min = Double.NaN;
+	private double max = Double.NaN;
+
+
+	public KllSketch() {
+		this(DEFAULT_K);
+	}
+
+
+	/**
+	 * Creates a sketch with given accuracy parameter.
+	 *
+	 * @param k capacity of the top level; larger is more accurate
+	 */
+	public KllSketch(int k) {
+		if (k < 8) throw new IllegalArgumentException("k must be at least 8, was " + k + ".");
+		this.k = k;
+		addLevel();
+	}
+
+
+	/**
+	 * Adds a value to the sketch.
+	 * <p>
+	 * NaN values are ignored.
+	 * </p>
+	 */
+	public void update(double value) {
+		if (Double.isNaN(value)) return;
+		if (count++ == 0) {
+			min = value;
+			max = value;
+		} else {
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+		}
+		append(0, value);
+		compress();
+	}
+
+
+	/**
+	 * Merges another sketch into this.
+	 */
+	public void merge(KllSketch other) {
+		if (other.count == 0) return;
+		if (count == 0) {
+			min = other.min;
+			max = other.max;
+		} else {
+			min = Math.min(min, other.min);
+			max = Math.max(max, other.max);
+		}
+		count += other.count;
+		for (int h = 0; h < other.levels.length; h++) {
+			while (levels.length <= h) addLevel();
+			for (int i = 0; i < other.sizes[h]; i++) append(h, other.levels[h][i]);
+		}
+		compress();
+	}
+
+
+	/**
+	 * Returns the estimated value at given quantile, or NaN if the sketch is empty.
+	 * <p>
+	 * Quantile 0 is the minimum and quantile 1 the maximum, which are exact.
+	 * </p>
+	 *
+	 * @param quantile between 0 and 1, inclusive
+	 */
+	public double quantile(double quantile) {
+		return quantiles(quantile)[0];
+	}
+
+
+	/**
+	 * Returns the estimated values at given quantiles.
+	 *
+	 * @param quantiles between 0 and 1, inclusive
+	 * @return the estimates, in the order of the quantiles, or NaNs if the sketch is empty
+	 */
+	public double[] quantiles(double... quantiles) {
+		for (double q : quantiles) checkQuantile(q);
+		double[] result = new double[quantiles.length];
+		if (count == 0) {
+			Arrays.fill(result, Double.NaN);
+			return result;
+		}
+		// Merge the sorted levels, accumulating the weights
+		int levelCount = levels.length;
+		double[][] sorted = new double[levelCount][];
+		for (int h = 0; h < levelCount; h++) {
+			sorted[h] = Arrays.copyOf(levels[h], sizes[h]);
+			Arrays.sort(sorted[h]);
+		}
+		double[] values = new double[retained];
+		long[] cumulativeWeights = new long[retained];
+		int[] positions = new int[levelCount];
+		long weight = 0;
+		for (int i = 0; i < retained; i++) {
+			int next = -1;
+			for (int h = 0; h < levelCount; h++) {
+				if (positions[h] < sorted[h].length
+						&& (next < 0 || sorted[h][positions[h]] < sorted[next][positions[next]])) next = h;
+			}
+			values[i] = sorted[next][positions[next]++];
+			weight += 1L << next;
+			cumulativeWeights[i] = weight;
+		}
+		for (int q = 0; q < quantiles.length; q++) {
+			if (quantiles[q] == 0d) {
+				result[q] = min;
+			} else if (quantiles[q] == 1d) {
+				result[q] = max;
+			} else {
+				long rank = Math.max(1L, (long) Math.ceil(quantiles[q] * weight));
+				int index = Arrays.binarySearch(cumulativeWeights, rank);
+				if (index < 0) index = -index - 1;
+				result[q] = values[Math.min(index, retained - 1)];
+			}
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the number of values added to the sketch.
+	 */
+	public long count() {
+		return count;
+	}
+
+
+	/**
+	 * Returns the smallest value added, or NaN if the sketch is empty.
+	 */
+	public double min() {
+		return min;
+	}
+
+
+	/**
+	 * Returns the largest value added, or NaN if the sketch is empty.
+	 */
+	public double max() {
+		return max;
+	}
+
+
+	/**
+	 * Returns the number of values retained by the sketch.
+	 */
+	public int retained() {
+		return retained;
+	}
+
+
+	static void checkQuantile(double quantile) {
+		if (!(quantile >= 0d && quantile <= 1d)) throw new IllegalArgumentException("Quantile must be between 0 and 1, was " + quantile + ".");
+	}
+
+
+	private void append(int h, double value) {
+		if (sizes[h] == levels[h].length) levels[h] = Arrays.copyOf(levels[h], levels[h].length * 2);
+		levels[h][sizes[h]++] = value;
+		retained++;
+	}
+
+
+	private void addLevel() {
+		int h = levels.length;
+		levels = Arrays.copyOf(levels, h + 1);
+		levels[h] = new double[MIN_CAPACITY * 4];
+		sizes = Arrays.copyOf(sizes, h + 1);
+		totalCapacity = 0;
+		for (int i = 0; i <= h; i++) totalCapacity += capacity(i);
+	}
+
+
+	/**
+	 * Returns the capacity of given level; the top level holds k values, lower levels geometrically fewer.
+	 */
+	private int capacity(int h) {
+		int depth = levels.length - 1 - h;
+		return Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_RATIO, depth)));
+	}
+
+
+	/**
+	 * Compacts full levels until the sketch is within its total capacity.
+	 */
+	private void compress() {
+		while (retained >= totalCapacity) {
+			for (int h = 0; h < levels.length; h++) {
+				if (sizes[h] >= capacity(h)) {
+					compact(h);
+					break;
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Sorts given level and promotes every other value, starting at a random offset, to the level above.
+	 * If the level holds an odd number of values the largest stays behind.
+	 */
+	private void compact(int h) {
+		if (h + 1 == levels.length) addLevel();
+		double[] level = levels[h];
+		int size = sizes[h];
+		Arrays.sort(level, 0, size);
+		int pairs = size / 2;
+		int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+		for (int i = 0; i < pairs; i++) append(h + 1, level[2 * i + offset]);
+		level[0] = level[size - 1];
+		sizes[h] = size & 1;
+		retained -= 2 * pairs;
+	}
+
+
+}
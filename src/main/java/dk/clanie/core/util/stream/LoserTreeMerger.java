@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Gatherer;
+import java.util.stream.Gatherer.Integrator;
+import java.util.stream.Stream;
+
+/**
+ * Merges sorted inputs using a loser tree (tournament tree).
+ * <p>
+ * Where the heap used by {@link Gatherers#mergeSorted(Comparator)} needs up to
+ * about 2&middot;log<sub>2</sub>(k) comparisons to replace its top element, a
+ * loser tree needs exactly &lceil;log<sub>2</sub>(k)&rceil;, where k is the number
+ * of inputs, and nothing is allocated per element. That makes a difference
+ * when merging many - hundreds of - inputs.
+ * </p><p>
+ * Inputs must be sorted according to the comparator. Equal elements are output
+ * in input order, ie. the merge is stable.
+ * </p><p>
+ * The merger is an Iterator, and is also available as a Gatherer through {@link #gatherer(Comparator)}.
+ * </p>
+ *
+ * @param <T> the type of the elements
+ */
+public final class LoserTreeMerger<T> implements Iterator<T> {
+
+	private final Comparator<? super T> comparator;
+	private final List<? extends Iterator<? extends T>> inputs;
+	private final int k;
+	private final Object[] heads; // Current element of each input
+	private final boolean[] exhausted;
+	private final int[] tree; // tree[0] is the winner, tree[1..k-1] the losers of each internal node
+
+
+	/**
+	 * Creates a merger of given inputs.
+	 * <p>
+	 * The first element of each input is read right away.
+	 * </p>
+	 *
+	 * @param inputs sorted inputs
+	 * @param comparator the comparator the inputs are sorted by
+	 */
+	public LoserTreeMerger(List<? extends Iterator<? extends T>> inputs, Comparator<? super T> comparator) {
+		this.comparator = requireNonNull(comparator);
+		this.inputs = List.copyOf(inputs);
+		k = inputs.size();
+		heads = new Object[k];
+		exhausted = new boolean[k];
+		tree = new int[Math.max(1, k)];
+		if (k == 0) return;
+		for (int i = 0; i < k; i++) pull(i);
+		tree[0] = build(1);
+	}
+
+
+	/**
+	 * Returns a gatherer that merge the input streams using a loser tree, ordering outputs using the specified comparator.
+	 * <p>
+	 * Input streams must be sorted according to the comparator. Equal elements
+	 * are output in the order of the streams they come from.
+	 * <p>
+	 * The input streams are closed when the merge completes, is short-circuited or fails.
+	 * <p>
+	 * The gatherer is sequential and greedy.
+	 *
+	 * @param <T> the type of the elements
+	 * @param comparator the comparator to use for sorting
+	 * @return a gatherer that merge-sorts the input streams
+	 */
+	public static <T> Gatherer<Stream<T>, ?, T> gatherer(Comparator<? super T> comparator) {
+		requireNonNull(comparator);
+
+		class MergeState {
+
+			private final List<Stream<T>> streams = new ArrayList<>();
+
+			boolean integrate(Stream<T> stream, Gatherer.Downstream<? super T> downstream) {
+				streams.add(stream);
+				return true;
+			}
+
+			/**
+			 * Merges the streams, closing them all when done, stopped or failed.
+			 */
+			void finish(Gatherer.Downstream<? super T> downstream) {
+				try {
+					List<Iterator<T>> iterators = new ArrayList<>(streams.size());
+					for (Stream<T> stream : streams) iterators.add(stream.iterator());
+					LoserTreeMerger<T> merger = new LoserTreeMerger<>(iterators, comparator);
+					while (merger.hasNext() && !downstream.isRejecting()) {
+						if (!downstream.push(merger.next())) break;
+					}
+				} finally {
+					streams.forEach(Stream::close);
+				}
+			}
+
+		}
+
+		return Gatherer.<Stream<T>, MergeState, T>ofSequential(
+				MergeState::new, // Initializer
+				Integrator.<MergeState, Stream<T>, T>ofGreedy(MergeState::integrate), // Integrator
+				MergeState::finish); // Finisher
+
+	}
+
+
+	@Override
+	public boolean hasNext() {
+		return k > 0 && !exhausted[tree[0]];
+	}
+
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		int winner = tree[0];
+		T value = (T) heads[winner];
+		pull(winner);
+		replay(winner);
+		return value;
+	}
+
+
+	/**
+	 * Reads the next element of given input into its head.
+	 */
+	private void pull(int input) {
+		Iterator<? extends T> iterator = inputs.get(input);
+		if (iterator.hasNext()) {
+			heads[input] = iterator.next();
+		} else {
+			heads[input] = null;
+			exhausted[input] = true;
+		}
+	}
+
+
+	/**
+	 * Builds the subtree rooted at given node, returning the winner.
+	 * <p>
+	 * Nodes 1 to k-1 are internal nodes, with children 2n and 2n+1, and nodes k to 2k-1 the inputs.
+	 * </p>
+	 */
+	private int build(int node) {
+		if (node >= k) return node - k;
+		int left = build(2 * node);
+		int right = build(2 * node + 1);
+		if (beats(left, right)) {
+			tree[node] = right;
+			return left;
+		}
+		tree[node] = left;
+		return right;
+	}
+
+
+	/**
+	 * Plays the new head of given input against the losers on the path to the root.
+	 */
+	private void replay(int input) {
+		int winner = input;
+		for (int node = (input + k) >>> 1; node > 0; node >>>= 1) {
+			int loser = tree[node];
+			if (beats(loser, winner)) {
+				tree[node] = winner;
+				winner = loser;
+			}
+		}
+		tree[0] = winner;
+	}
+
+
+	/**
+	 * Returns true if the head of input a goes before the head of input b.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean beats(int a, int b) {
+		if (exhausted[a]) return exhausted[b] && a < b;
+		if (exhausted[b]) return true;
+		int result = comparator.compare((T) heads[a], (T) heads[b]);
+		return result != 0 ? result < 0 : a < b;
+	}
+
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Iterator joining two sorted Iterators on keys extracted from their elements, in a single pass.
+ * <p>
+ * Both inputs must be sorted by their keys according to the comparator. For each
+ * left element the results are produced in the order of the matching right elements;
+ * unmatched right elements of a full outer join are produced where their key would
+ * have been in the left input.
+ * </p><p>
+ * The right elements with the same key are held in memory, so memory use is
+ * proportional to the largest group of equal keys in the right input.
+ * In outer joins the mapper gets null for the missing side.
+ * </p>
+ *
+ * @param <L> the type of the left elements
+ * @param <R> the type of the right elements
+ * @param <O> the type of the results
+ *
+ * @see Gatherers#mergeJoin(java.util.stream.Stream, Function, Function, Comparator, JoinType, BiFunction)
+ */
+public final class MergeJoinIterator<L, R, O> implements Iterator<O> {
+
+	private final Iterator<? extends L> left;
+	private final MergeJoiner<L, R, ?, O> joiner;
+	private final List<O> pending = new ArrayList<>(); // Results of the last left element
+	private int position;
+	private boolean finished;
+
+
+	/**
+	 * Creates an Iterator joining given sorted inputs.
+	 *
+	 * @param left left input
+	 * @param right right input
+	 * @param leftKey function extracting the key of left elements
+	 * @param rightKey function extracting the key of right elements
+	 * @param comparator the comparator the inputs are sorted by
+	 * @param type join type
+	 * @param mapper function producing the result of a pair of left and right elements
+	 */
+	public <K> MergeJoinIterator(Iterator<? extends L> left, Iterator<? extends R> right,
+			Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey, Comparator<? super K> comparator,
+			JoinType type, BiFunction<? super L, ? super R, ? extends O> mapper) {
+		this.left = requireNonNull(left);
+		this.joiner = new MergeJoiner<>(right, leftKey, rightKey, comparator, type, mapper);
+	}
+
+
+	@Override
+	public boolean hasNext() {
+		while (position == pending.size() && !finished) {
+			pending.clear();
+			position = 0;
+			if (left.hasNext()) {
+				joiner.accept(left.next(), pending::add);
+			} else {
+				joiner.finish(pending::add);
+				finished = true;
+			}
+		}
+		return position < pending.size();
+	}
+
+
+	@Override
+	public O next() {
+		if (!hasNext()) throw new NoSuchElementException();
+		return pending.get(position++);
+	}
+
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Push based merge-join of left elements against a sorted right-hand Iterator.
+ * <p>
+ * Left elements are offered one at a time by {@link #accept(Object, Predicate)};
+ * the right-hand elements with the same key are kept in memory while left
+ * elements with that key arrive, so memory use is proportional to the largest
+ * right-hand group.
+ * </p>
+ * Shared by the merge-join gatherers in {@link Gatherers} and by {@link MergeJoinIterator}.
+ */
+final class MergeJoiner<L, R, K, O> {
+
+	private final Iterator<? extends R> right;
+	private final Function<? super L, ? extends K> leftKey;
+	private final Function<? super R, ? extends K> rightKey;
+	private final Comparator<? super K> comparator;
+	private final JoinType type;
+	private final BiFunction<? super L, ? super R, ? extends O> mapper;
+
+	private final List<R> group = new ArrayList<>(); // Right-hand elements with key groupKey
+	private K groupKey;
+	private boolean groupMatched;
+	private R next; // Right-hand element read ahead, not part of the group
+	private boolean hasNext;
+	private boolean started;
+
+
+	MergeJoiner(Iterator<? extends R> right, Function<? super L, ? extends K> leftKey, Function<? super R, ? extends K> rightKey,
+			Comparator<? super K> comparator, JoinType type, BiFunction<? super L, ? super R, ? extends O> mapper) {
+		this.right = requireNonNull(right);
+		this.leftKey = requireNonNull(leftKey);
+		this.rightKey = requireNonNull(rightKey);
+		this.comparator = requireNonNull(comparator);
+		this.type = requireNonNull(type);
+		this.mapper = requireNonNull(mapper);
+	}
+
+
+	/**
+	 * Joins a left element, passing the results to given sink.
+	 *
+	 * @return false if the sink rejected a result
+	 */
+	boolean accept(L left, Predicate<? super O> sink) {
+		if (!started) {
+			started = true;
+			readAhead();
+			loadGroup();
+		}
+		K key = leftKey.apply(left);
+		while (!group.isEmpty() && comparator.compare(groupKey, key) < 0) {
+			if (!flushUnmatched(sink)) return false;
+			loadGroup();
+		}
+		if (!group.isEmpty() && comparator.compare(groupKey, key) == 0) {
+			groupMatched = true;
+			for (R r : group) {
+				if (!sink.test(mapper.apply(left, r))) return false;
+			}
+			return true;
+		}
+		if (type != JoinType.INNER) return sink.test(mapper.apply(left, null));
+		return true;
+	}
+
+
+	/**
+	 * Emits the remaining unmatched right-hand elements, for full outer joins.
+	 */
+	void finish(Predicate<? super O> sink) {
+		if (type != JoinType.FULL) return;
+		if (!started) {
+			started = true;
+			readAhead();
+			loadGroup();
+		}
+		while (!group.isEmpty()) {
+			if (!flushUnmatched(sink)) return;
+			loadGroup();
+		}
+	}
+
+
+	/**
+	 * Emits the current group paired with null, if it is unmatched and this is a full outer join.
+	 */
+	private boolean flushUnmatched(Predicate<? super O> sink) {
+		if (type != JoinType.FULL || groupMatched) return true;
+		for (R r : group) {
+			if (!sink.test(mapper.apply(null, r))) return false;
+		}
+		return true;
+	}
+
+
+	/**
+	 * Replaces the current group with the next run of right-hand elements with equal keys.
+	 */
+	private void loadGroup() {
+		group.clear();
+		groupMatched = false;
+		if (!hasNext) return;
+		groupKey = rightKey.apply(next);
+		group.add(next);
+		readAhead();
+		while (hasNext && comparator.compare(rightKey.apply(next), groupKey) == 0) {
+			group.add(next);
+			readAhead();
+		}
+	}
+
+
+	private void readAhead() {
+		hasNext = right.hasNext();
+		next = hasNext ? right.next() : null;
+	}
+
+
+}
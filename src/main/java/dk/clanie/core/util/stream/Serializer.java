@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import dk.clanie.core.collections.TupleCodec;
+
+/**
+ * Strategy interface for writing elements to, and reading them back from, binary streams.
+ * <p>
+ * Used by {@link Gatherers#externalSort(java.util.Comparator, Serializer, int)} to spill elements to disk.
+ */
+public interface Serializer<T> {
+
+	/**
+	 * Writes a value.
+	 */
+	void write(T value, DataOutputStream out) throws IOException;
+
+
+	/**
+	 * Reads a value written by {@link #write(Object, DataOutputStream)}.
+	 */
+	T read(DataInputStream in) throws IOException;
+
+
+	/**
+	 * Returns a Serializer using {@link TupleCodec}, for Tuples, KeyValuePairs
+	 * and the element types supported by TupleCodec.
+	 * <p>
+	 * Values are written as TupleCodec frames, through a buffer reused for all
+	 * values, so the returned Serializer must not be shared between threads.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Serializer<T> tupleCodec() {
+		return new Serializer<T>() {
+
+			private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+			@Override
+			public void write(T value, DataOutputStream out) throws IOException {
+				int size = TupleCodec.sizeOf(value);
+				buffer.clear();
+				ensureCapacity(size);
+				TupleCodec.write(value, buffer);
+				out.write(buffer.array(), 0, size);
+			}
+
+			@Override
+			public T read(DataInputStream in) throws IOException {
+				// Read the frame's varint length into the buffer, then the body after it
+				buffer.clear();
+				long length = 0;
+				for (int shift = 0; ; shift += 7) {
+					if (shift > 28) throw new IOException("Malformed frame length.");
+					byte b = in.readByte();
+					buffer.put(b);
+					length |= (long) (b & 0x7F) << shift;
+					if (b >= 0) break;
+				}
+				if (length > Integer.MAX_VALUE - buffer.position()) throw new IOException("Frame length out of range: " + length + ".");
+				int lengthSize = buffer.position();
+				ensureCapacity(lengthSize + (int) length);
+				in.readFully(buffer.array(), lengthSize, (int) length);
+				buffer.limit(lengthSize + (int) length).position(0);
+				return (T) TupleCodec.read(buffer);
+			}
+
+			/**
+			 * Replaces the buffer with a larger one, keeping the bytes before its position, if it can't hold given number of bytes.
+			 */
+			private void ensureCapacity(int size) {
+				if (size > buffer.capacity()) {
+					ByteBuffer larger = ByteBuffer.allocate(Math.max(size, 2 * buffer.capacity()));
+					larger.put(buffer.array(), 0, buffer.position());
+					buffer = larger;
+				}
+			}
+
+		};
+	}
+
+}
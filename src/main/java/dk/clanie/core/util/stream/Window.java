@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+/**
+ * Result of a time window, as emitted by the windowing gatherers in {@link Gatherers}.
+ *
+ * @param <C> the type of the chrono keys
+ * @param <R> the type of the aggregated result
+ * @param start start of the window, inclusive
+ * @param end end of the window, exclusive
+ * @param result the aggregated result of the elements in the window
+ */
+public record Window<C, R>(C start, C end, R result) {
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BigDecimalNumberMapTest {
+
+
+	@Test
+	void testAddAndSub() {
+		BigDecimalNumberMap<String> map = new BigDecimalNumberMap<>();
+		map.add("x", new BigDecimal("1.5"));
+		map.add("x", new BigDecimal("2.25"));
+		map.addUnscaled("x", 1, 0);
+		map.sub("y", new BigDecimal("1E+3"));
+		map.subUnscaled("y", 5, 1);
+		assertThat(map.getBigDecimal("x")).isEqualTo(new BigDecimal("4.75"));
+		assertThat(map.getBigDecimal("y")).isEqualTo(new BigDecimal("-1000.5"));
+		assertThat(map.getBigDecimal("z")).isEqualTo(BigDecimal.ZERO);
+	}
+
+
+	@Test
+	void testOverflowFallsBackToBigDecimal() {
+		BigDecimalNumberMap<String> map = new BigDecimalNumberMap<>();
+		map.addUnscaled("x", Long.MAX_VALUE, 2);
+		map.addUnscaled("x", Long.MAX_VALUE, 2);
+		map.add("x", new BigDecimal("0.001"));
+		map.add("x", new BigDecimal("12345678901234567890.5"));
+		BigDecimal expected = BigDecimal.valueOf(Long.MAX_VALUE, 2)
+				.add(BigDecimal.valueOf(Long.MAX_VALUE, 2))
+				.add(new BigDecimal("0.001"))
+				.add(new BigDecimal("12345678901234567890.5"));
+		assertThat(map.getBigDecimal("x")).isEqualTo(expected);
+	}
+
+
+	/**
+	 * Results, including scale, must be the same as those of a {@link NumberMap}.
+	 */
+	@Test
+	void testSameResultAsNumberMap() {
+		Random random = new Random(42);
+		BigDecimalNumberMap<Integer> map = new BigDecimalNumberMap<>();
+		NumberMap<Integer, BigDecimal> expected = NumberMap.newBigDecimalMap();
+		for (int i = 0; i < 20_000; i++) {
+			int key = random.nextInt(500);
+			long unscaled = random.nextInt(10) == 0 ? random.nextLong() : random.nextInt(1_000_000);
+			BigDecimal value = BigDecimal.valueOf(unscaled, random.nextInt(6) - 1);
+			if (random.nextBoolean()) {
+				map.add(key, value);
+				expected.add(key, value);
+			} else {
+				map.sub(key, value);
+				expected.sub(key, value);
+			}
+		}
+		assertThat(map.toNumberMap()).isEqualTo(expected);
+	}
+
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static dk.clanie.core.collections.ConcurrentNumberMap.newDoubleMap;
+import static dk.clanie.core.collections.ConcurrentNumberMap.newIntegerMap;
+import static dk.clanie.core.collections.ConcurrentNumberMap.newLongMap;
+import static java.util.concurrent.Executors.newVirtualThreadPerTaskExecutor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentNumberMapTest {
+
+
+	@Test
+	void testAddAndSub() {
+		ConcurrentNumberMap<String, Integer> map = newIntegerMap();
+		map.add("x", 1);
+		map.add("y", 2);
+		map.add("x", 3);
+		map.sub("z", 5);
+		map.sub("z", 1);
+		assertThat(map.get("x")).isEqualTo(4);
+		assertThat(map.get("y")).isEqualTo(2);
+		assertThat(map.get("z")).isEqualTo(-6);
+		assertThat(map.get("missing")).isNull();
+		assertThat(map.remove("y")).isEqualTo(2);
+		assertThat(map.size()).isEqualTo(2);
+
+		ConcurrentNumberMap<String, Double> doubles = newDoubleMap();
+		doubles.add("x", 1.5);
+		doubles.sub("x", 0.5);
+		assertThat(doubles.get("x")).isEqualTo(1.0);
+	}
+
+
+	@Test
+	void testConcurrentUpdates() {
+		ConcurrentNumberMap<Integer, Long> map = newLongMap();
+		int tasks = 64;
+		int updatesPerTask = 10_000;
+		try (ExecutorService executor = newVirtualThreadPerTaskExecutor()) {
+			for (int t = 0; t < tasks; t++) {
+				executor.execute(() -> {
+					for (int i = 0; i < updatesPerTask; i++) {
+						map.add(i % 10, 2L);
+						map.sub(i % 10, 1L);
+					}
+				});
+			}
+		}
+		NumberMap<Integer, Long> snapshot = map.snapshot();
+		assertThat(snapshot).hasSize(10);
+		assertThat(snapshot).containsEntry(0, tasks * updatesPerTask / 10L);
+		snapshot.add(0, 1L);
+		assertThat(map.get(0)).isEqualTo(tasks * updatesPerTask / 10L);
+		map.clear();
+		assertThat(map.snapshot()).isEqualTo(Map.of());
+	}
+
+
+	@Test
+	void testSnapshotsAreConsistent() {
+		ConcurrentNumberMap<String, Long> map = newLongMap();
+		int tasks = 16;
+		int updatesPerTask = 20_000;
+		try (ExecutorService executor = newVirtualThreadPerTaskExecutor()) {
+			for (int t = 0; t < tasks; t++) {
+				executor.execute(() -> {
+					for (int i = 0; i < updatesPerTask; i++) {
+						map.add("a", 1L);
+						map.add("b", 1L);
+					}
+				});
+			}
+			// Every task updates a before b, so no snapshot may see b ahead of a,
+			// and a can be at most one update per task ahead of b.
+			for (int i = 0; i < 1_000; i++) {
+				NumberMap<String, Long> snapshot = map.snapshot();
+				long a = snapshot.getOrDefault("a", 0L);
+				long b = snapshot.getOrDefault("b", 0L);
+				assertThat(a - b).as("a=%d, b=%d", a, b).isBetween(0L, (long) tasks);
+			}
+		}
+		NumberMap<String, Long> snapshot = map.snapshot();
+		assertThat(snapshot).containsEntry("a", (long) tasks * updatesPerTask);
+		assertThat(snapshot).containsEntry("b", (long) tasks * updatesPerTask);
+	}
+
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class IndexTest {
+
+	record Order(long customerId, long accountId, int amount) {}
+
+	private static final List<Order> ORDERS = List.of(
+			new Order(1, 10, 100),
+			new Order(2, 20, 50),
+			new Order(1, 11, 75),
+			new Order(3, 30, 100),
+			new Order(1, 10, 20));
+
+
+	@Test
+	void testHashIndex() {
+		Index<Long, Order> byCustomer = Index.of(ORDERS, Order::customerId);
+		assertThat(byCustomer.get(1L)).containsExactly(ORDERS.get(0), ORDERS.get(2), ORDERS.get(4));
+		assertThat(byCustomer.get(2L)).containsExactly(ORDERS.get(1));
+		assertThat(byCustomer.get(4L)).isEmpty();
+		assertThat(byCustomer.getFirst(3L)).contains(ORDERS.get(3));
+		assertThat(byCustomer.containsKey(3L)).isTrue();
+		assertThat(byCustomer.containsKey(4L)).isFalse();
+		assertThat(byCustomer.size()).isEqualTo(5);
+		assertThat(byCustomer.keyCount()).isEqualTo(3);
+		assertThat(byCustomer.isUnique()).isFalse();
+		assertThatThrownBy(() -> byCustomer.get(1L).clear())
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+
+	@Test
+	void testCompositeKey() {
+		Index<LongLongPair, Order> index = Index.of(ORDERS, o -> LongLongPair.of(o.customerId(), o.accountId()));
+		assertThat(index.get(LongLongPair.of(1, 10))).extracting(Order::amount).containsExactly(100, 20);
+		assertThat(index.keyCount()).isEqualTo(4);
+	}
+
+
+	@Test
+	void testUniqueIndex() {
+		Index<Long, Order> byAccount = Index.unique(ORDERS.subList(0, 4), Order::accountId);
+		assertThat(byAccount.isUnique()).isTrue();
+		assertThat(byAccount.getFirst(11L)).contains(ORDERS.get(2));
+		assertThatThrownBy(() -> Index.unique(ORDERS, Order::accountId))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("10");
+		assertThatThrownBy(() -> Index.sortedUnique(ORDERS, Order::accountId))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+
+	@Test
+	void testSortedIndex() {
+		SortedIndex<Integer, Order> byAmount = Index.sorted(ORDERS, Order::amount);
+		assertThat(byAmount.values()).extracting(Order::amount).containsExactly(20, 50, 75, 100, 100);
+		assertThat(byAmount.get(100)).containsExactly(ORDERS.get(0), ORDERS.get(3));
+		assertThat(byAmount.range(50, true, 100, false)).extracting(Order::amount).containsExactly(50, 75);
+		assertThat(byAmount.range(50, false, 100, true)).extracting(Order::amount).containsExactly(75, 100, 100);
+		assertThat(byAmount.range(100, true, 50, true)).isEmpty();
+		assertThat(byAmount.headList(75, false)).extracting(Order::amount).containsExactly(20, 50);
+		assertThat(byAmount.tailList(75, true)).extracting(Order::amount).containsExactly(75, 100, 100);
+		assertThat(byAmount.containsKey(60)).isFalse();
+		assertThat(byAmount.firstKey()).contains(20);
+		assertThat(byAmount.lastKey()).contains(100);
+		assertThat(byAmount.keyCount()).isEqualTo(4);
+
+		SortedIndex<Integer, Order> descending = Index.sorted(ORDERS, Order::amount, Comparator.reverseOrder());
+		assertThat(descending.headList(75, true)).extracting(Order::amount).containsExactly(100, 100, 75);
+	}
+
+
+	@Test
+	void testStats() {
+		List<Integer> numbers = IntStream.range(0, 10_000).boxed().toList();
+		Index.Stats stats = Index.of(numbers, i -> i % 100).stats();
+		assertThat(stats.size()).isEqualTo(10_000);
+		assertThat(stats.keyCount()).isEqualTo(100);
+		assertThat(stats.buildTime()).isPositive();
+		assertThat(stats.estimatedBytes()).isGreaterThan(10_000L * Index.REFERENCE_BYTES);
+		assertThat(Index.of(null, Object::hashCode).stats().size()).isZero();
+	}
+
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.lang.Integer.signum;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class IntIntPairTest {
+
+	private static final int[] VALUES = { Integer.MIN_VALUE, -7, -1, 0, 1, 42, Integer.MAX_VALUE };
+
+
+	@Test
+	void testPackAndUnpack() {
+		for (int a : VALUES) {
+			for (int b : VALUES) {
+				long packed = IntIntPair.pack(a, b);
+				assertThat(IntIntPair.first(packed)).isEqualTo(a);
+				assertThat(IntIntPair.second(packed)).isEqualTo(b);
+				assertThat(IntIntPair.unpack(packed)).isEqualTo(IntIntPair.of(a, b));
+			}
+		}
+	}
+
+
+	@Test
+	void testOrderingConsistentWithTupleAndPackedForm() {
+		for (int a1 : VALUES) for (int b1 : VALUES) for (int a2 : VALUES) for (int b2 : VALUES) {
+			IntIntPair p1 = IntIntPair.of(a1, b1);
+			IntIntPair p2 = IntIntPair.of(a2, b2);
+			int expected = signum(p1.toTuple().compareTo(p2.toTuple()));
+			assertThat(signum(p1.compareTo(p2))).isEqualTo(expected);
+			assertThat(signum(Long.compare(p1.pack(), p2.pack()))).isEqualTo(expected);
+		}
+	}
+
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static java.lang.Integer.signum;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class LongLongPairTest {
+
+
+	@Test
+	void testEqualsHashCodeAndToString() {
+		assertThat(LongLongPair.of(1L, 2L)).isEqualTo(LongLongPair.of(1L, 2L));
+		assertThat(LongLongPair.of(1L, 2L)).isNotEqualTo(LongLongPair.of(2L, 1L));
+		assertThat(LongLongPair.of(1L, 2L).hashCode()).isNotEqualTo(LongLongPair.of(2L, 1L).hashCode());
+		assertThat(LongLongPair.of(1L, 2L)).hasToString(Tuple.of(1L, 2L).toString());
+		assertThat(IntLongPair.of(1, 2L)).hasToString("[[1][2]]");
+		assertThat(LongObjPair.of(1L, "two")).hasToString("[[1][two]]");
+	}
+
+
+	@Test
+	void testHashCodesOfSequentialKeysAreWellDistributed() {
+		Set<Integer> buckets = new HashSet<>();
+		for (long i = 0; i < 64; i++) {
+			for (long j = 0; j < 64; j++) {
+				buckets.add(LongLongPair.of(i, j).hashCode() & 1023);
+			}
+		}
+		// 4096 keys into 1024 buckets should leave about 2% of the buckets empty
+		assertThat(buckets.size()).isGreaterThan(980);
+	}
+
+
+	@Test
+	void testOrderingConsistentWithTuple() {
+		long[] values = { Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE };
+		for (long a1 : values) for (long b1 : values) for (long a2 : values) for (long b2 : values) {
+			int expected = signum(Tuple.of(a1, b1).compareTo(Tuple.of(a2, b2)));
+			assertThat(signum(LongLongPair.of(a1, b1).compareTo(LongLongPair.of(a2, b2)))).isEqualTo(expected);
+			assertThat(signum(IntLongPair.of((int) a1, b1).compareTo(IntLongPair.of((int) a2, b2))))
+				.isEqualTo(signum(Tuple.of((int) a1, b1).compareTo(Tuple.of((int) a2, b2))));
+		}
+		assertThat(LongObjPair.of(1L, "b").compareTo(LongObjPair.of(1L, "a"))).isPositive();
+		assertThat(LongObjPair.of(0L, "b").compareTo(LongObjPair.of(1L, "a"))).isNegative();
+	}
+
+
+	@Test
+	void testIncomparableSecondElement() {
+		LongObjPair<Object> p1 = LongObjPair.of(1L, new Object());
+		LongObjPair<Object> p2 = LongObjPair.of(1L, new Object());
+		assertThrows(ClassCastException.class, () -> p1.compareTo(p2));
+	}
+
+
+}
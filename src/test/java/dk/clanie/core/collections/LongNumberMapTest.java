@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class LongNumberMapTest {
+
+
+	@Test
+	void testAddAndSub() {
+		LongNumberMap<String> map = new LongNumberMap<>();
+		map.addLong("x", 999999999991l);
+		map.addLong("y", 999999999992l);
+		assertThat(map.addLong("x", 999999999993l)).isEqualTo(1999999999984l);
+		assertThat(map.getLong("x")).isEqualTo(1999999999984l);
+		assertThat(map.getLong("y")).isEqualTo(999999999992l);
+		map.sub("z", 5l);
+		map.subLong("z", 1l);
+		assertThat(map.getLong("z")).isEqualTo(-6l);
+		assertThat(map.getLong("missing")).isEqualTo(0l);
+		assertThat(map.getLong("missing", -1l)).isEqualTo(-1l);
+		assertThat(map.size()).isEqualTo(3);
+	}
+
+
+	@Test
+	void testGrowAndRemove() {
+		LongNumberMap<Integer> map = new LongNumberMap<>();
+		Map<Integer, Long> expected = new HashMap<>();
+		for (int i = 0; i < 10_000; i++) {
+			map.addLong(i % 3_000, i);
+			expected.merge(i % 3_000, (long) i, Long::sum);
+		}
+		for (int i = 0; i < 3_000; i += 2) {
+			assertThat(map.remove(i)).isTrue();
+			expected.remove(i);
+		}
+		assertThat(map.remove(0)).isFalse();
+		assertThat(map.size()).isEqualTo(expected.size());
+		assertThat(map.asMap()).isEqualTo(expected);
+		expected.forEach((k, v) -> assertThat(map.getLong(k)).isEqualTo(v));
+	}
+
+
+	@Test
+	void testMapView() {
+		LongNumberMap<String> map = new LongNumberMap<>();
+		Map<String, Long> view = map.asMap();
+		assertThat(view.put("a", 1L)).isNull();
+		assertThat(view.put("a", 2L)).isEqualTo(1L);
+		map.addLong("b", 3L);
+		assertThat(view).containsOnly(Map.entry("a", 2L), Map.entry("b", 3L));
+		view.entrySet().forEach(e -> e.setValue(e.getValue() * 10));
+		assertThat(map.getLong("a")).isEqualTo(20L);
+		assertThat(view.remove("a")).isEqualTo(20L);
+		assertThat(map.containsKey("a")).isFalse();
+		assertThatThrownBy(() -> map.addLong(null, 1L)).isInstanceOf(NullPointerException.class);
+	}
+
+
+	@Test
+	void testToNumberMap() {
+		LongNumberMap<String> map = new LongNumberMap<>(2);
+		map.addLong("a", 1L);
+		map.addLong("b", 2L);
+		NumberMap<String, Long> copy = map.toNumberMap();
+		copy.add("a", 10L);
+		assertThat(copy).containsOnly(Map.entry("a", 11L), Map.entry("b", 2L));
+		assertThat(map.getLong("a")).isEqualTo(1L);
+	}
+
+
+}
@@ -26,9 +26,13 @@ import static dk.clanie.core.collections.NumberMap.newIntegerMap;
 import static dk.clanie.core.collections.NumberMap.newLongMap;
 import static dk.clanie.core.collections.NumberMap.newShortMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -143,4 +147,84 @@ public class NumberMapTest {
 		assertThat(map.get("z")).isEqualTo((short)-6);
 	}
 
+	@Test
+	public void testIntNumberMap() {
+		IntNumberMap<String> map = new IntNumberMap<>();
+		map.addInt("x", 1);
+		map.add("y", 2);
+		map.addInt("x", 3);
+		assertThat(map.getInt("x")).isEqualTo(4);
+		assertThat(map.getInt("y")).isEqualTo(2);
+		map.subInt("z", 5);
+		map.sub("z", 1);
+		assertThat(map.toNumberMap().get("z")).isEqualTo(-6);
+	}
+
+	@Test
+	public void testDoubleNumberMap() {
+		DoubleNumberMap<String> map = new DoubleNumberMap<>();
+		map.addDouble("x", 1.0);
+		map.add("y", 2.0);
+		map.addDouble("x", 3d);
+		assertThat(map.getDouble("x")).isEqualTo(4d);
+		assertThat(map.getDouble("y")).isEqualTo(2d);
+		map.subDouble("z", 5.0);
+		map.sub("z", 1.0);
+		assertThat(map.toNumberMap().get("z")).isEqualTo(-6.0);
+	}
+
+	@Test
+	public void testMergeFrom() {
+		NumberMap<String, Long> map = newLongMap();
+		map.add("x", 1L);
+		NumberMap<String, Long> other = newLongMap();
+		other.add("x", 2L);
+		other.add("y", 3L);
+		map.mergeFrom(other);
+		assertThat(map).containsOnly(entry("x", 3L), entry("y", 3L));
+	}
+
+	@Test
+	public void testMergeAll() {
+		List<NumberMap<Integer, Long>> shards = new ArrayList<>();
+		for (int shard = 0; shard < 37; shard++) {
+			NumberMap<Integer, Long> map = newLongMap();
+			for (int key = 0; key <= shard; key++) map.add(key, 1L);
+			shards.add(map);
+		}
+		NumberMap<Integer, Long> result = newLongMap();
+		result.add(0, 100L);
+		result.mergeAll(shards);
+		assertThat(result).hasSize(37);
+		assertThat(result.get(0)).isEqualTo(137L);
+		assertThat(result.get(36)).isEqualTo(1L);
+		assertThat(shards.get(0)).as("Input maps must not be modified").containsOnly(entry(0, 1L));
+		assertThat(shards.get(36)).hasSize(37);
+	}
+
+	@Test
+	public void testTopK() {
+		NumberMap<String, Integer> map = newIntegerMap();
+		for (int i = 0; i < 1000; i++) map.add("k" + i, i % 500);
+		assertThat(map.topK(3, Comparator.naturalOrder()))
+				.extracting(KeyValuePair::v)
+				.containsExactly(499, 499, 498);
+		assertThat(map.topK(3, Comparator.reverseOrder()))
+				.extracting(KeyValuePair::v)
+				.containsExactly(0, 0, 1);
+		assertThat(map.topK(0, Comparator.naturalOrder())).isEmpty();
+		assertThat(newIntegerMap().topK(5, Comparator.naturalOrder())).isEmpty();
+	}
+
+	@Test
+	public void testSortedByValue() {
+		NumberMap<String, Integer> map = newIntegerMap();
+		map.add("b", 2);
+		map.add("c", 3);
+		map.add("a", 1);
+		assertThat(map.sortedByValue(Comparator.naturalOrder()))
+				.extracting(KeyValuePair::k)
+				.containsExactly("a", "b", "c");
+	}
+
 }
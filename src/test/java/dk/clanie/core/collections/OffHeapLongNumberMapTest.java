@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OffHeapLongNumberMapTest {
+
+
+	@Test
+	void testAddSubAndRemove() {
+		try (OffHeapLongNumberMap map = OffHeapLongNumberMap.allocate(0)) {
+			Map<Long, Long> expected = new HashMap<>();
+			Random random = new Random(7);
+			for (int i = 0; i < 50_000; i++) {
+				long key = random.nextInt(5_000) - 100;
+				long value = random.nextInt(1000);
+				if (random.nextInt(10) == 0) {
+					assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+				} else if (random.nextBoolean()) {
+					map.addLong(key, value);
+					expected.merge(key, value, Long::sum);
+				} else {
+					map.sub(key, value);
+					expected.merge(key, -value, Long::sum);
+				}
+			}
+			assertThat(map.size()).isEqualTo(expected.size());
+			assertThat(map.toNumberMap()).isEqualTo(expected);
+			assertThat(map.getLong(Long.MAX_VALUE, -1L)).isEqualTo(-1L);
+			map.clear();
+			assertThat(map.isEmpty()).isTrue();
+			assertThat(map.containsKey(0L)).isFalse();
+		}
+	}
+
+
+	@Test
+	void testMemoryMappedFileSurvivesReopen(@TempDir Path dir) {
+		Path file = dir.resolve("counters.map");
+		try (OffHeapLongNumberMap map = OffHeapLongNumberMap.open(file, 4)) {
+			for (long key = 0; key < 1_000; key++) map.addLong(key, key * 2);
+			map.subLong(0, 1);
+		}
+		try (OffHeapLongNumberMap map = OffHeapLongNumberMap.open(file, 4)) {
+			assertThat(map.size()).isEqualTo(1_000);
+			assertThat(map.getLong(0)).isEqualTo(-1L);
+			assertThat(map.getLong(999)).isEqualTo(1998L);
+			map.addLong(999, 2);
+		}
+		try (OffHeapLongNumberMap map = OffHeapLongNumberMap.open(file, 4)) {
+			assertThat(map.getLong(999)).isEqualTo(2000L);
+		}
+		assertThatThrownBy(() -> OffHeapDoubleNumberMap.open(file, 4))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+
+	@Test
+	void testDoubleValues() {
+		try (OffHeapDoubleNumberMap map = OffHeapDoubleNumberMap.allocate(10)) {
+			map.addDouble(1, 1.5);
+			map.add(1L, 2.0);
+			map.subDouble(2, 0.25);
+			assertThat(map.getDouble(1)).isEqualTo(3.5);
+			assertThat(map.getDouble(2)).isEqualTo(-0.25);
+			assertThat(map.toNumberMap()).containsOnlyKeys(1L, 2L);
+		}
+	}
+
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class TupleCodecTest {
+
+
+	@Test
+	void testRoundTrip() {
+		List<Object> values = List.of(
+				Tuple.of("one"),
+				Tuple.of(1, 2L),
+				Tuple.of(Integer.MIN_VALUE, Long.MAX_VALUE, (short) -3),
+				Tuple.of(1.5d, 2.5f, 'x', (byte) -1),
+				Tuple.of("æøå 😀", new BigDecimal("-12345678901234567890.123"), BigInteger.TEN.negate(), true, false),
+				Tuple.of(UUID.randomUUID(), LocalDate.of(1969, 7, 20), Instant.ofEpochSecond(-5, 7), "", Tuple.of(1, 2), new KeyValuePair<>("k", 42)),
+				new KeyValuePair<>(Tuple.of(7L, 8L), 9L));
+		ByteBuffer buffer = ByteBuffer.allocate(values.stream().mapToInt(TupleCodec::sizeOf).sum());
+		values.forEach(value -> TupleCodec.write(value, buffer));
+		assertThat(buffer.hasRemaining()).isFalse();
+		buffer.flip();
+		assertThat(TupleCodec.readAll(buffer).toList()).isEqualTo(values);
+	}
+
+
+	@Test
+	void testNullsAndDirectBuffer() {
+		Tuple tuple = Tuple.of(null, "direct", null);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(TupleCodec.sizeOf(tuple));
+		TupleCodec.write(tuple, buffer);
+		buffer.flip();
+		assertThat(TupleCodec.read(buffer)).isEqualTo(tuple);
+	}
+
+
+	@Test
+	void testStreamAndSkip() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (long i = 0; i < 100; i++) TupleCodec.write(Tuple.of(i, "value " + i), out);
+		ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+		List<Object> odd = new ArrayList<>();
+		while (buffer.hasRemaining()) {
+			TupleCodec.skip(buffer);
+			odd.add(TupleCodec.read(buffer));
+		}
+		assertThat(odd).hasSize(50).startsWith(Tuple.of(1L, "value 1")).endsWith(Tuple.of(99L, "value 99"));
+		// Small numbers are a single byte each: length + tag + 2 element tags + long + string length + 7 chars
+		assertThat(TupleCodec.encode(Tuple.of(1L, "value 1"))).hasSize(13);
+	}
+
+
+	@Test
+	void testUnsupportedAndMalformed() {
+		assertThatThrownBy(() -> TupleCodec.encode(Tuple.of(new Object())))
+			.isInstanceOf(IllegalArgumentException.class);
+		byte[] bytes = TupleCodec.encode(Tuple.of("truncated"));
+		assertThatThrownBy(() -> TupleCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)))
+			.isInstanceOf(IllegalArgumentException.class);
+		// byte[] claiming Integer.MAX_VALUE bytes must not be allocated
+		assertThatThrownBy(() -> TupleCodec.decode(new byte[] {6, 11, -1, -1, -1, -1, 7}))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageStartingWith("Truncated frame");
+		// LocalDate with an epoch day far out of range
+		assertThatThrownBy(() -> TupleCodec.decode(new byte[] {11, 15, -2, -1, -1, -1, -1, -1, -1, -1, -1, 1}))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageStartingWith("Invalid date or time");
+	}
+
+
+	@Test
+	void testNestingDepth() {
+		Object nested = "x";
+		for (int i = 0; i < TupleCodec.MAX_DEPTH; i++) nested = Tuple.of(nested);
+		assertThat(TupleCodec.decode(TupleCodec.encode(nested))).isEqualTo(nested);
+
+		// Frame with 100 nested Singletons around a null must be refused, not overflow the stack
+		byte[] bytes = new byte[102];
+		bytes[0] = 101;
+		Arrays.fill(bytes, 1, 101, (byte) 17);
+		assertThatThrownBy(() -> TupleCodec.decode(bytes))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageStartingWith("Nesting deeper than");
+	}
+
+
+}
@@ -18,9 +18,19 @@
 package dk.clanie.core.collections;
 
 import static dk.clanie.core.collections.Tuple.of;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+import static java.util.Comparator.reverseOrder;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
 
 import dk.clanie.core.collections.Tuple.Pair;
@@ -144,4 +154,43 @@ public class TupleTest {
 	}
 
 
+	/**
+	 * Test that hashCode() is consistent with equals() and unchanged by caching.
+	 */
+	@Test
+	public void testHashCode() {
+		Tuple pair = of("one", 2);
+		assertThat(pair.hashCode()).isEqualTo("one".hashCode() * 37 + 2);
+		assertThat(pair.hashCode()).isEqualTo(of("one", 2).hashCode());
+		assertThat(of(1, null, 3).hashCode()).isEqualTo((1 * 37 + 0) * 37 + 3);
+		Map<Tuple, String> map = new HashMap<>();
+		map.put(of(1, 2, 3, 4, 5, 6), "six");
+		assertThat(map.get(of(1, 2, 3, 4, 5, 6))).isEqualTo("six");
+		assertThat(map.get(of(1, 2, 3, 4, 5, 7))).isNull();
+	}
+
+	/**
+	 * Test the typed comparators agree with compareTo() and honour null ordering.
+	 */
+	@Test
+	public void testComparator() {
+		Comparator<Pair<String, Integer>> pairComparator = Tuple.comparator(naturalOrder(), naturalOrder());
+		List<Pair<String, Integer>> pairs = new ArrayList<>(List.of(
+				of("b", 1), of("a", 2), of("a", 1), of("b", 0), of("a", 1, 0), of("a", 0, 9)));
+		List<Pair<String, Integer>> expected = new ArrayList<>(pairs);
+		Collections.sort(expected);
+		pairs.sort(pairComparator);
+		assertThat(pairs).containsExactlyElementsOf(expected);
+
+		Comparator<Triple<Integer, String, Integer>> tripleComparator =
+				Tuple.comparator(naturalOrder(), nullsFirst(naturalOrder()), reverseOrder());
+		assertThat(tripleComparator.compare(of(1, null, 1), of(1, "a", 1))).isNegative();
+		assertThat(tripleComparator.compare(of(1, "a", 1), of(1, "a", 2))).isPositive();
+		assertThat(tripleComparator.compare(of(1, "a", 1), of(1, "a", 1))).isZero();
+		assertThat(Tuple.<Integer, Integer, Integer, Integer, Integer, Integer>comparator(
+				naturalOrder(), naturalOrder(), naturalOrder(), naturalOrder(), naturalOrder(), naturalOrder())
+				.compare(of(1, 2, 3, 4, 5, 6), of(1, 2, 3, 4, 5, 7))).isNegative();
+	}
+
+
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util;
+
+import static dk.clanie.core.util.ChunkUtils.batchByTimeOrSize;
+import static dk.clanie.core.util.ChunkUtils.chunked;
+import static dk.clanie.core.util.ChunkUtils.chunkedStream;
+import static dk.clanie.core.util.ChunkUtils.forEachChunk;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class ChunkUtilsTest {
+
+
+	@Test
+	void testChunked() {
+		List<Integer> list = IntStream.range(0, 7).boxed().toList();
+		assertThat(chunked(list, 3)).containsExactly(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6));
+		assertThat(chunked(list, 7)).containsExactly(list);
+		assertThat(chunked(List.of(), 3)).isEmpty();
+		assertThat(chunked(null, 3)).isEmpty();
+		assertThatThrownBy(() -> chunked(list, 0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+
+	@Test
+	void testChunkedIsLazy() {
+		AtomicInteger pulled = new AtomicInteger();
+		Iterable<Integer> source = () -> IntStream.range(0, 1_000_000).peek(_ -> pulled.incrementAndGet()).boxed().iterator();
+		Iterator<List<Integer>> chunks = chunked(source, 10).iterator();
+		assertThat(chunks.next()).hasSize(10);
+		assertThat(pulled.get()).isLessThan(100);
+		assertThat(chunkedStream(source, 1000).skip(5).findFirst()).hasValueSatisfying(chunk -> assertThat(chunk.get(0)).isEqualTo(5000));
+	}
+
+
+	@Test
+	void testChunkedByWeight() {
+		List<String> words = List.of("a", "bb", "ccc", "dddddddddd", "e", "ff");
+		assertThat(chunkedStream(words, 10, 4, String::length).toList())
+			.containsExactly(List.of("a", "bb"), List.of("ccc"), List.of("dddddddddd"), List.of("e", "ff"));
+		assertThat(chunked(words, 2, 100, String::length))
+			.containsExactly(List.of("a", "bb"), List.of("ccc", "dddddddddd"), List.of("e", "ff"));
+	}
+
+
+	@Test
+	void testForEachChunkReusesBuffer() {
+		List<List<Integer>> seen = new ArrayList<>();
+		List<List<Integer>> copies = new ArrayList<>();
+		forEachChunk(IntStream.range(0, 5).boxed().toList(), 2, chunk -> {
+			seen.add(chunk);
+			copies.add(List.copyOf(chunk));
+		});
+		assertThat(copies).containsExactly(List.of(0, 1), List.of(2, 3), List.of(4));
+		assertThat(seen.get(0)).isSameAs(seen.get(2));
+		assertThatThrownBy(() -> seen.get(0).add(5))
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+
+
+	@Test
+	void testBatchByTimeOrSize() {
+		assertThat(batchByTimeOrSize(Stream.of(1, 2, 3, 4, 5), 2, Duration.ofHours(1)))
+			.containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+		assertThat(batchByTimeOrSize(Stream.of(1, null, 3), 5, Duration.ofHours(1)))
+			.containsExactly(Arrays.asList(1, null, 3));
+		assertThat(batchByTimeOrSize(null, 2, Duration.ofHours(1))).isEmpty();
+		assertThatThrownBy(() -> batchByTimeOrSize(Stream.of(1), 0, Duration.ofHours(1)))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> batchByTimeOrSize(Stream.of(1), 1, Duration.ofMillis(-1)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+
+	@Test
+	void testBatchByTimeOrSizeFlushesDuringPause() throws InterruptedException {
+		BlockingQueue<Integer> input = new ArrayBlockingQueue<>(10);
+		AtomicInteger closed = new AtomicInteger();
+		// Input pausing after 1, 2 and 3, ending with -1
+		Stream<Integer> source = Stream.generate(() -> {
+			try {
+				return input.take();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		}).takeWhile(i -> i >= 0).onClose(closed::incrementAndGet);
+		input.addAll(List.of(1, 2, 3));
+		try (Stream<List<Integer>> batches = batchByTimeOrSize(source, 10, Duration.ofMillis(50))) {
+			Iterator<List<Integer>> iterator = batches.iterator();
+			long start = System.nanoTime();
+			assertThat(iterator.next()).containsExactly(1, 2, 3);
+			assertThat(System.nanoTime() - start).as("Flushed without waiting for more input").isLessThan(TimeUnit.SECONDS.toNanos(5));
+			input.addAll(List.of(4, 5, -1));
+			assertThat(iterator.next()).containsExactly(4, 5);
+			assertThat(iterator.hasNext()).isFalse();
+		}
+		assertThat(closed).hasValue(1);
+	}
+
+
+	@Test
+	void testBatchByTimeOrSizeRethrowsAfterEmittingElements() {
+		Stream<Integer> failing = Stream.of(1, 2, 0).map(i -> 2 / i);
+		Iterator<List<Integer>> batches = batchByTimeOrSize(failing, 10, Duration.ofHours(1)).iterator();
+		assertThat(batches.next()).containsExactly(2, 1);
+		assertThatThrownBy(batches::hasNext).isInstanceOf(ArithmeticException.class);
+	}
+
+
+	@Test
+	void testBatchByTimeOrSizeCloseStopsReader() throws InterruptedException {
+		AtomicInteger closed = new AtomicInteger();
+		Stream<Integer> endless = Stream.iterate(0, i -> i + 1).onClose(closed::incrementAndGet);
+		try (Stream<List<Integer>> batches = batchByTimeOrSize(endless, 3, Duration.ofHours(1))) {
+			assertThat(batches.iterator().next()).containsExactly(0, 1, 2);
+		}
+		for (int i = 0; i < 100 && closed.get() == 0; i++) Thread.sleep(50);
+		assertThat(closed).as("Input closed by the reader").hasValue(1);
+	}
+
+
+}
@@ -22,20 +22,36 @@ import static dk.clanie.core.Utils.stream;
 import static dk.clanie.core.util.CollectionUtils.asList;
 import static dk.clanie.core.util.CollectionUtils.asMap;
 import static dk.clanie.core.util.CollectionUtils.asSet;
+import static dk.clanie.core.util.CollectionUtils.concatView;
 import static dk.clanie.core.util.CollectionUtils.filterList;
 import static dk.clanie.core.util.CollectionUtils.filterSet;
+import static dk.clanie.core.util.CollectionUtils.filterView;
 import static dk.clanie.core.util.CollectionUtils.mapList;
 import static dk.clanie.core.util.CollectionUtils.mapSet;
+import static dk.clanie.core.util.CollectionUtils.mapView;
+import static dk.clanie.core.util.CollectionUtils.parallelAsMap;
+import static dk.clanie.core.util.CollectionUtils.parallelFilterList;
+import static dk.clanie.core.util.CollectionUtils.parallelMapList;
+import static dk.clanie.core.util.CollectionUtils.reverseSpliterator;
+import static dk.clanie.core.util.CollectionUtils.reverseStream;
 import static dk.clanie.core.util.SortDirection.ASC;
 import static dk.clanie.core.util.SortDirection.DESC;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -208,4 +224,117 @@ class CollectionUtilsTest {
 	}
 
 
+	@Test
+	void testMapView_isLazyAndLive() {
+		List<String> list = new ArrayList<>(List.of("a", "b", "c"));
+		AtomicInteger calls = new AtomicInteger();
+		List<String> view = mapView(list, s -> {
+			calls.incrementAndGet();
+			return s.toUpperCase();
+		});
+
+		assertThat(view).hasSize(3);
+		assertThat(calls).hasValue(0);
+		assertThat(view.get(1)).isEqualTo("B");
+		assertThat(calls).hasValue(1);
+		list.add("d");
+		assertThat(view).containsExactly("A", "B", "C", "D");
+		assertThat(mapView(new LinkedList<>(list), String::toUpperCase)).containsExactly("A", "B", "C", "D");
+		assertThat(mapView((Collection<String>) new TreeSet<>(list), String::toUpperCase)).containsExactly("A", "B", "C", "D");
+		assertThat(mapView((List<String>) null, String::toUpperCase)).isEmpty();
+		assertThatThrownBy(() -> view.add("E"))
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+
+	@Test
+	void testFilterView_isLazy() {
+		List<Integer> list = List.of(1, 2, 3, 4, 5, 6);
+		AtomicInteger tests = new AtomicInteger();
+		Collection<Integer> view = filterView(list, i -> {
+			tests.incrementAndGet();
+			return i % 2 == 0;
+		});
+
+		assertThat(view.isEmpty()).isFalse();
+		assertThat(tests).hasValue(2);
+		assertThat(view).containsExactly(2, 4, 6);
+		assertThat(view).hasSize(3);
+		assertThat(view.stream().map(i -> i * 10).toList()).containsExactly(20, 40, 60);
+		assertThat(filterView(list, i -> i > 6)).isEmpty();
+		assertThatThrownBy(() -> view.remove(2))
+			.isInstanceOf(UnsupportedOperationException.class);
+	}
+
+
+	@Test
+	void testConcatView() {
+		List<String> first = new ArrayList<>(List.of("a", "b"));
+		List<String> view = concatView(first, null, List.of(), List.of("c"));
+
+		assertThat(view).hasSize(3).containsExactly("a", "b", "c");
+		assertThat(view.get(2)).isEqualTo("c");
+		first.add("b2");
+		assertThat(view).containsExactly("a", "b", "b2", "c");
+		assertThatThrownBy(() -> view.get(4))
+			.isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> view.set(0, "x"))
+			.isInstanceOf(UnsupportedOperationException.class);
+		assertThat(view).isInstanceOf(RandomAccess.class);
+
+		List<String> linked = concatView(first, null, new LinkedList<>(List.of("d")));
+		assertThat(linked).isNotInstanceOf(RandomAccess.class).containsExactly("a", "b", "b2", "d");
+	}
+
+
+	@Test
+	void testReverseStream() {
+		List<Integer> list = IntStream.range(0, 10_000).boxed().toList();
+		List<Integer> reversed = new ArrayList<>(list);
+		Collections.reverse(reversed);
+
+		assertThat(reverseStream(list).toList()).isEqualTo(reversed);
+		assertThat(reverseStream(list).parallel().map(i -> i * 2).toList())
+			.isEqualTo(reversed.stream().map(i -> i * 2).toList());
+		assertThat(reverseStream(new LinkedList<>(list)).toList()).isEqualTo(reversed);
+		assertThat(reverseStream(list.toArray(new Integer[0])).parallel().toList()).isEqualTo(reversed);
+		assertThat(reverseStream((List<Integer>) null)).isEmpty();
+		assertThat(reverseStream((Integer[]) null)).isEmpty();
+	}
+
+
+	@Test
+	void testReverseSpliterator_isSizedAndSplitsEvenly() {
+		List<Integer> list = IntStream.range(0, 1000).boxed().toList();
+		Spliterator<Integer> spliterator = reverseSpliterator(list);
+
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)).isTrue();
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(1000);
+		Spliterator<Integer> prefix = spliterator.trySplit();
+		assertThat(prefix.getExactSizeIfKnown()).isEqualTo(500);
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(500);
+		prefix.tryAdvance(first -> assertThat(first).isEqualTo(999));
+		spliterator.tryAdvance(first -> assertThat(first).isEqualTo(499));
+		assertThat(reverseSpliterator(new LinkedList<>(list)).getExactSizeIfKnown()).isEqualTo(1000);
+	}
+
+
+	@Test
+	void testParallelVariants_matchSequential() {
+		List<Integer> list = IntStream.range(0, 20_000).boxed().toList();
+
+		assertThat(parallelMapList(list, i -> i * 3)).isEqualTo(mapList(list, i -> i * 3));
+		assertThat(parallelMapList(list, i -> i * 3, 100)).isEqualTo(mapList(list, i -> i * 3));
+		assertThat(parallelFilterList(list, i -> i % 7 == 0)).isEqualTo(filterList(list, i -> i % 7 == 0));
+		assertThat(parallelFilterList(Set.of(1, 2, 3), i -> i > 1, 1)).containsExactlyInAnyOrder(2, 3);
+		Map<Integer, Integer> map = parallelAsMap(list, i -> i, i -> -i, 100);
+		assertThat(map).hasSize(20_000).containsEntry(1234, -1234);
+		assertThat(parallelAsMap((List<Integer>) null, i -> i)).isEmpty();
+		assertThatThrownBy(() -> map.put(1, 1))
+			.isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> parallelAsMap(list, i -> i % 10, i -> i, 100))
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util;
+
+import static dk.clanie.core.util.SortDirection.ASC;
+import static dk.clanie.core.util.SortDirection.DESC;
+import static dk.clanie.core.util.SortedListUtils.binarySearch;
+import static dk.clanie.core.util.SortedListUtils.difference;
+import static dk.clanie.core.util.SortedListUtils.intersection;
+import static dk.clanie.core.util.SortedListUtils.lowerBound;
+import static dk.clanie.core.util.SortedListUtils.range;
+import static dk.clanie.core.util.SortedListUtils.union;
+import static dk.clanie.core.util.SortedListUtils.upperBound;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class SortedListUtilsTest {
+
+	private static final Function<Integer, Integer> IDENTITY = i -> i;
+
+
+	@Test
+	void testSearches() {
+		List<Integer> list = List.of(1, 3, 3, 3, 7, 9);
+		assertThat(binarySearch(list, 7, IDENTITY, ASC)).isEqualTo(4);
+		assertThat(binarySearch(list, 4, IDENTITY, ASC)).isEqualTo(-5);
+		assertThat(binarySearch(list, 0, IDENTITY, ASC)).isEqualTo(-1);
+		assertThat(lowerBound(list, 3, IDENTITY, ASC)).isEqualTo(1);
+		assertThat(upperBound(list, 3, IDENTITY, ASC)).isEqualTo(4);
+		assertThat(upperBound(list, 10, IDENTITY, ASC)).isEqualTo(6);
+		assertThat(range(list, 2, 7, IDENTITY, ASC)).containsExactly(3, 3, 3, 7);
+		assertThat(range(list, 8, 2, IDENTITY, ASC)).isEmpty();
+
+		List<String> descending = List.of("dddd", "ccc", "bb", "a");
+		assertThat(binarySearch(descending, 2, String::length, DESC)).isEqualTo(2);
+		assertThat(range(descending, 3, 2, String::length, DESC)).containsExactly("ccc", "bb");
+	}
+
+
+	@Test
+	void testSetOperations() {
+		List<Integer> a = List.of(1, 2, 2, 5, 8, 13, 21);
+		List<Integer> b = List.of(2, 3, 5, 7, 21, 34);
+		assertThat(intersection(a, b, IDENTITY, ASC)).containsExactly(2, 2, 5, 21);
+		assertThat(difference(a, b, IDENTITY, ASC)).containsExactly(1, 8, 13);
+		assertThat(union(a, b, IDENTITY, ASC)).containsExactly(1, 2, 2, 3, 5, 7, 8, 13, 21, 34);
+		assertThat(intersection(a, List.of(), IDENTITY, ASC)).isEmpty();
+		assertThat(difference(a, List.of(), IDENTITY, ASC)).isEqualTo(a);
+		assertThat(union(List.of(), b, IDENTITY, ASC)).isEqualTo(b);
+		assertThat(intersection(a.reversed(), b.reversed(), IDENTITY, DESC)).containsExactly(21, 5, 2, 2);
+	}
+
+
+	@Test
+	void testSetOperations_randomAgainstHashing() {
+		Random random = new Random(42);
+		for (int round = 0; round < 50; round++) {
+			List<Integer> a = randomSortedList(random, random.nextInt(200), 1000);
+			List<Integer> b = randomSortedList(random, random.nextInt(2000), 1000);
+			Set<Integer> setA = new HashSet<>(a);
+			Set<Integer> setB = new HashSet<>(b);
+			assertThat(intersection(a, b, IDENTITY, ASC)).isEqualTo(a.stream().filter(setB::contains).toList());
+			assertThat(difference(a, b, IDENTITY, ASC)).isEqualTo(a.stream().filter(i -> !setB.contains(i)).toList());
+			List<Integer> expectedUnion = new ArrayList<>(a);
+			b.stream().filter(i -> !setA.contains(i)).forEach(expectedUnion::add);
+			expectedUnion.sort(null);
+			assertThat(union(a, b, IDENTITY, ASC)).isEqualTo(expectedUnion);
+		}
+	}
+
+
+	private static List<Integer> randomSortedList(Random random, int size, int bound) {
+		List<Integer> list = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) list.add(random.nextInt(bound));
+		list.sort(null);
+		return list;
+	}
+
+
+}
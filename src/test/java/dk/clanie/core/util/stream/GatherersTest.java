@@ -17,16 +17,64 @@
  */
 package dk.clanie.core.util.stream;
 
+import static dk.clanie.core.util.stream.Gatherers.chunked;
+import static dk.clanie.core.util.stream.Gatherers.distinctApprox;
+import static dk.clanie.core.util.stream.Gatherers.distinctApproxByHash;
+import static dk.clanie.core.util.stream.Gatherers.distinctSorted;
+import static dk.clanie.core.util.stream.Gatherers.distinctWithinWindow;
+import static dk.clanie.core.util.stream.Gatherers.externalSort;
+import static dk.clanie.core.util.stream.Gatherers.fullJoin;
 import static dk.clanie.core.util.stream.Gatherers.grouping;
+import static dk.clanie.core.util.stream.Gatherers.groupingFold;
+import static dk.clanie.core.util.stream.Gatherers.groupingReduce;
+import static dk.clanie.core.util.stream.Gatherers.innerJoin;
+import static dk.clanie.core.util.stream.Gatherers.leftJoin;
+import static dk.clanie.core.util.stream.Gatherers.mapConcurrentUnorderedWithContext;
+import static dk.clanie.core.util.stream.Gatherers.mapConcurrentWithContext;
+import static dk.clanie.core.util.stream.Gatherers.mergeJoin;
 import static dk.clanie.core.util.stream.Gatherers.mergeSorted;
+import static dk.clanie.core.util.stream.Gatherers.parallelMergeSorted;
+import static dk.clanie.core.util.stream.Gatherers.quantiles;
+import static dk.clanie.core.util.stream.Gatherers.sessionWindows;
+import static dk.clanie.core.util.stream.Gatherers.slidingWindows;
+import static dk.clanie.core.util.stream.Gatherers.throttle;
+import static dk.clanie.core.util.stream.Gatherers.topN;
+import static dk.clanie.core.util.stream.Gatherers.tumblingWindows;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Gatherer;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dk.clanie.core.collections.Tuple;
+import dk.clanie.core.collections.TupleCodec;
+import dk.clanie.core.concurrent.ContextPropagator;
+import dk.clanie.exception.RuntimeIOException;
+import dk.clanie.core.util.Chronological;
 
 class GatherersTest {
 
@@ -88,4 +136,499 @@ class GatherersTest {
 	}
 
 
+	@Test
+	void testChunked() {
+		assertThat(Stream.of(1, 2, 3, 4, 5).gather(chunked(2)).toList())
+			.containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+		assertThat(Stream.of("a", "bb", "ccc", "dddd", "e").gather(chunked(3, 4, String::length)).toList())
+			.containsExactly(List.of("a", "bb"), List.of("ccc"), List.of("dddd"), List.of("e"));
+		assertThat(Stream.<Integer>empty().gather(chunked(2)).toList()).isEmpty();
+	}
+
+
+	@Test
+	void testChunkedStopsPulling() {
+		int[] pullCount = new int[] { 0 };
+		List<List<Integer>> result = Stream.iterate(0, i -> i + 1)
+				.peek(_ -> pullCount[0]++)
+				.gather(chunked(3))
+				.limit(2)
+				.toList();
+		assertThat(result).containsExactly(List.of(0, 1, 2), List.of(3, 4, 5));
+		assertThat(pullCount[0]).isEqualTo(6);
+	}
+
+
+	@Test
+	void testParallelMergeSortingOrdersLikeSequential() {
+		Random random = new Random(3);
+		List<List<String>> inputs = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			List<String> input = new ArrayList<>();
+			for (int j = random.nextInt(1000); j > 0; j--) input.add(i + ":" + "x".repeat(random.nextInt(20)));
+			input.sort(Comparator.comparing(String::length));
+			inputs.add(input);
+		}
+		// Comparing by length only gives lots of ties, which must be resolved identically
+		Comparator<String> byLength = Comparator.comparing(String::length);
+		List<String> sequential = inputs.stream().map(List::stream).gather(mergeSorted(byLength)).toList();
+		List<String> parallel = inputs.stream().map(List::stream).gather(parallelMergeSorted(byLength, 10)).toList();
+		assertThat(parallel).hasSize(sequential.size()).isEqualTo(sequential);
+	}
+
+
+	@Test
+	void testMergeSortingClosesInputStreams() throws InterruptedException {
+		for (int bufferSize : new int[] {0, 4}) {
+			CountDownLatch closed = new CountDownLatch(3);
+			List<Stream<Integer>> inputs = List.of(
+					Stream.iterate(0, i -> i < 1_000, i -> i + 3).onClose(closed::countDown),
+					Stream.iterate(1, i -> i < 1_000, i -> i + 3).onClose(closed::countDown),
+					Stream.iterate(2, i -> i < 1_000, i -> i + 3).onClose(closed::countDown));
+			List<Integer> merged = inputs.stream()
+					.gather(bufferSize == 0 ? mergeSorted(Comparator.<Integer>naturalOrder()) : parallelMergeSorted(Comparator.<Integer>naturalOrder(), bufferSize))
+					.limit(10)
+					.toList();
+			assertThat(merged).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+			assertThat(closed.await(10, TimeUnit.SECONDS)).as("All input streams closed").isTrue();
+		}
+	}
+
+
+	@Test
+	void testParallelMergeSortingStopsAndFails() {
+		List<Integer> firstFive = Stream.of(Stream.iterate(0, i -> i < 100_000, i -> i + 2), Stream.iterate(1, i -> i < 100_000, i -> i + 2))
+				.gather(parallelMergeSorted(Comparator.<Integer>naturalOrder(), 8))
+				.limit(5)
+				.toList();
+		assertThat(firstFive).containsExactly(0, 1, 2, 3, 4);
+
+		Stream<Stream<Integer>> failing = Stream.of(
+				Stream.of(1, 2, 3),
+				Stream.of(1, 2).map(i -> {
+					if (i == 2) throw new IllegalArgumentException("Boom");
+					return i;
+				}));
+		assertThatThrownBy(() -> failing.gather(parallelMergeSorted(Comparator.<Integer>naturalOrder(), 1)).toList())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("Boom");
+	}
+
+
+	@Test
+	void testExternalSort(@TempDir Path tempDir) throws IOException {
+		Serializer<Integer> ints = new Serializer<>() {
+			@Override
+			public void write(Integer value, DataOutputStream out) throws IOException {
+				out.writeInt(value);
+			}
+			@Override
+			public Integer read(DataInputStream in) throws IOException {
+				return in.readInt();
+			}
+		};
+		List<Integer> input = new Random(5).ints(10_000, 0, 1_000_000).boxed().toList();
+		List<Integer> expected = input.stream().sorted().toList();
+
+		assertThat(input.stream().gather(externalSort(Comparator.<Integer>naturalOrder(), ints, 1_000, tempDir)).toList())
+			.isEqualTo(expected);
+		assertThat(input.stream().gather(externalSort(Comparator.<Integer>naturalOrder(), ints, 100_000, tempDir)).toList())
+			.isEqualTo(expected);
+		// 1000 runs take two merge passes before the final merge
+		assertThat(input.stream().gather(externalSort(Comparator.<Integer>naturalOrder(), ints, 10, tempDir)).toList())
+			.isEqualTo(expected);
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+
+	@Test
+	void testExternalSortDeletesRunOnWriteFailure(@TempDir Path tempDir) throws IOException {
+		Serializer<Integer> failing = new Serializer<>() {
+			@Override
+			public void write(Integer value, DataOutputStream out) throws IOException {
+				if (value == 7) throw new IOException("Disk full");
+				out.writeInt(value);
+			}
+			@Override
+			public Integer read(DataInputStream in) throws IOException {
+				return in.readInt();
+			}
+		};
+		assertThatThrownBy(() -> Stream.iterate(0, i -> i < 100, i -> i + 1).gather(externalSort(Comparator.<Integer>naturalOrder(), failing, 5, tempDir)).toList())
+			.isInstanceOf(RuntimeIOException.class)
+			.hasRootCauseMessage("Disk full");
+		try (Stream<Path> files = Files.list(tempDir)) {
+			assertThat(files).as("Only the run that failed is deleted; earlier runs wait for the finisher").hasSize(1);
+		}
+	}
+
+
+	@Test
+	void testExternalSortIsStable(@TempDir Path tempDir) {
+		List<Tuple.Pair<Integer, Integer>> input = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) input.add(Tuple.of(i % 10, i));
+		List<Tuple.Pair<Integer, Integer>> expected = new ArrayList<>(input);
+		expected.sort(Comparator.comparing(Tuple.Pair::get1st));
+		for (int memoryBudget : new int[] {64, 3}) {
+			List<Tuple.Pair<Integer, Integer>> sorted = input.stream()
+					.gather(externalSort(Comparator.comparing(Tuple.Pair::get1st), Serializer.tupleCodec(), memoryBudget, tempDir))
+					.toList();
+			assertThat(sorted).isEqualTo(expected);
+		}
+	}
+
+
+	@Test
+	void testTupleCodecSerializer() throws IOException {
+		Serializer<Tuple.Pair<Integer, String>> serializer = Serializer.tupleCodec();
+		List<Tuple.Pair<Integer, String>> values = new ArrayList<>();
+		for (int i = 0; i < 2_000; i += 99) values.add(Tuple.of(i, "x".repeat(i)));
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			for (Tuple.Pair<Integer, String> value : values) serializer.write(value, out);
+		}
+		// Written as plain TupleCodec frames
+		assertThat(bytes.size()).isEqualTo(values.stream().mapToInt(TupleCodec::sizeOf).sum());
+		List<Tuple.Pair<Integer, String>> read = new ArrayList<>();
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			for (int i = 0; i < values.size(); i++) read.add(serializer.read(in));
+		}
+		assertThat(read).isEqualTo(values);
+	}
+
+
+	@Test
+	void testGroupingReduce() {
+		List<Long> counts = Stream.of("a", "b", "bb", "ccc", "d", "eee")
+				.gather(groupingReduce(Comparator.comparing(String::length), Collectors.counting()))
+				.toList();
+		assertThat(counts).containsExactly(2L, 1L, 1L, 1L, 1L);
+		String joined = Stream.of("a1", "a2", "b1", "c1", "c2")
+				.gather(groupingReduce(Comparator.comparing((String s) -> s.charAt(0)), Collectors.joining("+")))
+				.collect(Collectors.joining(", "));
+		assertThat(joined).isEqualTo("a1+a2, b1, c1+c2");
+		assertThat(Stream.<String>empty().gather(groupingReduce(Comparator.<String>naturalOrder(), Collectors.counting())).toList()).isEmpty();
+	}
+
+
+	@Test
+	void testGroupingFold() {
+		record Sale(String region, int amount) {}
+		List<Integer> totals = Stream.of(new Sale("EU", 10), new Sale("EU", 5), new Sale("US", 7), new Sale("ZA", 1), new Sale("ZA", 1))
+				.gather(groupingFold(Comparator.comparing(Sale::region), () -> 0, (sum, sale) -> sum + sale.amount()))
+				.toList();
+		assertThat(totals).containsExactly(15, 7, 2);
+	}
+
+
+	@Test
+	void testMergeJoins() {
+		record Customer(int id, String name) {}
+		record Order(int customerId, String item) {}
+		List<Customer> customers = List.of(new Customer(1, "Ann"), new Customer(2, "Bob"), new Customer(4, "Dan"));
+		List<Order> orders = List.of(new Order(1, "pen"), new Order(1, "ink"), new Order(3, "cup"), new Order(4, "mug"), new Order(5, "hat"));
+		Comparator<Integer> natural = Comparator.naturalOrder();
+
+		assertThat(customers.stream()
+				.gather(innerJoin(orders.stream(), Customer::id, Order::customerId, natural))
+				.map(p -> p.get1st().name() + ":" + p.get2nd().item()))
+				.containsExactly("Ann:pen", "Ann:ink", "Dan:mug");
+		assertThat(customers.stream()
+				.gather(leftJoin(orders.stream(), Customer::id, Order::customerId, natural))
+				.map(p -> p.get1st().name() + ":" + (p.get2nd() == null ? "-" : p.get2nd().item())))
+				.containsExactly("Ann:pen", "Ann:ink", "Bob:-", "Dan:mug");
+		assertThat(customers.stream()
+				.gather(fullJoin(orders.stream(), Customer::id, Order::customerId, natural))
+				.map(p -> (p.get1st() == null ? "-" : p.get1st().name()) + ":" + (p.get2nd() == null ? "-" : p.get2nd().item())))
+				.containsExactly("Ann:pen", "Ann:ink", "Bob:-", "-:cup", "Dan:mug", "-:hat");
+		assertThat(Stream.<Customer>empty()
+				.gather(mergeJoin(orders.stream(), Customer::id, Order::customerId, natural, JoinType.FULL, (c, o) -> o.item())))
+				.containsExactly("pen", "ink", "cup", "mug", "hat");
+		assertThat(customers.stream()
+				.gather(mergeJoin(orders.stream(), Customer::id, Order::customerId, natural, JoinType.FULL, (c, o) -> c == null ? o.item() : c.name()))
+				.limit(2))
+				.containsExactly("Ann", "Ann");
+	}
+
+
+	@Test
+	void testMergeJoinClosesRightStream() {
+		Comparator<Integer> natural = Comparator.naturalOrder();
+		// Left side running out first, and right side running out first, which stops the inner join early
+		for (int leftEnd : new int[] {20, 200}) {
+			AtomicBoolean pulled = new AtomicBoolean();
+			AtomicBoolean closed = new AtomicBoolean();
+			Stream<Integer> right = Stream.iterate(0, i -> i < 50, i -> i + 1)
+					.peek(i -> pulled.set(true))
+					.onClose(() -> closed.set(true));
+			Gatherer<Integer, ?, Integer> join = mergeJoin(right, Function.identity(), Function.identity(), natural, JoinType.INNER, (l, r) -> l);
+			assertThat(pulled).as("Right-hand stream not read before the join runs").isFalse();
+			assertThat(Stream.iterate(0, i -> i < leftEnd, i -> i + 2).gather(join).toList()).hasSize(Math.min(leftEnd, 50) / 2);
+			assertThat(closed).as("Right-hand stream closed, left ending at " + leftEnd).isTrue();
+		}
+	}
+
+
+	@Test
+	void testThrottle() throws InterruptedException {
+		long start = System.nanoTime();
+		assertThat(Stream.iterate(0, i -> i < 11, i -> i + 1).gather(throttle(50))).hasSize(11);
+		// 10 waits of 20 ms
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isBetween(Duration.ofMillis(190), Duration.ofSeconds(2));
+
+		AtomicBoolean interrupted = new AtomicBoolean();
+		Thread virtual = Thread.ofVirtual().start(() -> {
+			try {
+				Stream.of(1, 2, 3).gather(throttle(0.01, 2)).toList();
+			} catch (RuntimeException e) {
+				interrupted.set(Thread.currentThread().isInterrupted());
+			}
+		});
+		virtual.join(1_000);
+		assertThat(virtual.isAlive()).as("Waiting for third permit").isTrue();
+		virtual.interrupt();
+		virtual.join(1_000);
+		assertThat(virtual.isAlive()).isFalse();
+		assertThat(interrupted).isTrue();
+	}
+
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	@Test
+	void testMapConcurrentWithContext() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Random random = new Random(3);
+		List<Integer> delays = random.ints(40, 0, 5).boxed().toList();
+		CONTEXT.set("ctx");
+		try {
+			List<String> ordered = delays.stream()
+					.gather(mapConcurrentWithContext(4, CONTEXT_PROPAGATOR, delay -> {
+						maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+						try {
+							Thread.sleep(delay);
+						} catch (InterruptedException e) {
+							throw new IllegalStateException(e);
+						} finally {
+							running.decrementAndGet();
+						}
+						return CONTEXT.get() + ":" + delay + ":" + Thread.currentThread().isVirtual();
+					}))
+					.toList();
+			assertThat(ordered).isEqualTo(delays.stream().map(delay -> "ctx:" + delay + ":true").toList());
+			assertThat(maxRunning.get()).isBetween(1, 4);
+
+			List<String> unordered = delays.stream()
+					.gather(mapConcurrentUnorderedWithContext(4, CONTEXT_PROPAGATOR, delay -> CONTEXT.get() + ":" + delay))
+					.toList();
+			assertThat(unordered).containsExactlyInAnyOrderElementsOf(delays.stream().map(delay -> "ctx:" + delay).toList());
+		} finally {
+			CONTEXT.remove();
+		}
+		assertThatThrownBy(() -> Stream.of(1, 0, 2).gather(mapConcurrentWithContext(2, CONTEXT_PROPAGATOR, i -> 2 / i)).toList())
+			.isInstanceOf(ArithmeticException.class);
+	}
+
+
+	@Test
+	void testMapConcurrentCancelsOnShortCircuit() throws InterruptedException {
+		for (boolean ordered : new boolean[] {true, false}) {
+			CountDownLatch secondStarted = new CountDownLatch(1);
+			AtomicInteger started = new AtomicInteger();
+			AtomicInteger interrupted = new AtomicInteger();
+			Function<Integer, Integer> mapper = i -> {
+				try {
+					if (i == 0) {
+						secondStarted.await();
+						return i;
+					}
+					started.incrementAndGet();
+					secondStarted.countDown();
+					Thread.sleep(60_000);
+				} catch (InterruptedException e) {
+					interrupted.incrementAndGet();
+				}
+				return i;
+			};
+			Gatherer<Integer, ?, Integer> gatherer = ordered
+					? mapConcurrentWithContext(3, CONTEXT_PROPAGATOR, mapper)
+					: mapConcurrentUnorderedWithContext(3, CONTEXT_PROPAGATOR, mapper);
+			assertThat(gatherFirst(gatherer, List.of(0, 1, 2, 3, 4))).containsExactly(0);
+			for (int i = 0; i < 100 && interrupted.get() < started.get(); i++) Thread.sleep(100);
+			assertThat(interrupted.get()).as("Outstanding mappings interrupted").isPositive().isEqualTo(started.get());
+		}
+	}
+
+
+	/**
+	 * Runs given gatherer over given elements with a downstream rejecting everything after the first element.
+	 */
+	private static <T, A, R> List<R> gatherFirst(Gatherer<T, A, R> gatherer, List<T> elements) {
+		List<R> pushed = new ArrayList<>();
+		Gatherer.Downstream<R> downstream = new Gatherer.Downstream<>() {
+			@Override
+			public boolean push(R element) {
+				pushed.add(element);
+				return false;
+			}
+			@Override
+			public boolean isRejecting() {
+				return !pushed.isEmpty();
+			}
+		};
+		A state = gatherer.initializer().get();
+		for (T element : elements) {
+			if (!gatherer.integrator().integrate(state, element, downstream)) break;
+		}
+		gatherer.finisher().accept(state, downstream);
+		return pushed;
+	}
+
+
+	private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+	private static final ContextPropagator CONTEXT_PROPAGATOR = new ContextPropagator() {
+		@Override
+		public Object capture() {
+			return CONTEXT.get();
+		}
+		@Override
+		public void set(Object context) {
+			CONTEXT.set((String) context);
+		}
+		@Override
+		public void clear() {
+			CONTEXT.remove();
+		}
+	};
+
+
+	@Test
+	void testDistinctSorted() {
+		assertThat(Stream.of(1, 1, 2, 3, 3, 3, 7).gather(distinctSorted())).containsExactly(1, 2, 3, 7);
+		assertThat(Stream.of("a", "a", "b", "a").gather(distinctSorted())).containsExactly("a", "b", "a");
+	}
+
+
+	@Test
+	void testDistinctWithinWindow() {
+		assertThat(Stream.of(1, 2, 1, 3, 4, 1, 2, 2).gather(distinctWithinWindow(2)))
+			.containsExactly(1, 2, 3, 4, 1, 2);
+		// Seeing 1 again keeps it in the window
+		assertThat(Stream.of(1, 2, 1, 3, 1).gather(distinctWithinWindow(2)))
+			.containsExactly(1, 2, 3);
+	}
+
+
+	@Test
+	void testDistinctApprox() {
+		int n = 100_000;
+		List<Integer> unique = Stream.iterate(0, i -> i < 2 * n, i -> i + 1)
+				.map(i -> i % n)
+				.gather(distinctApprox(n, 0.01, Function.identity()))
+				.toList();
+		assertThat(unique.size()).isBetween(n * 98 / 100, n);
+		assertThat(new HashSet<>(unique)).hasSameSizeAs(unique);
+		assertThat(Stream.of("a", "b", "A", "c").gather(distinctApprox(10, 0.001, String::toLowerCase)))
+			.containsExactly("a", "b", "c");
+		assertThatThrownBy(() -> distinctApprox(10, 1.0, Function.identity())).isInstanceOf(IllegalArgumentException.class);
+
+		// hashCode collides for these keys, their 64 bit hashes don't
+		List<Long> colliding = List.of(0L, 0x1_0000_0001L, 0x2_0000_0002L);
+		assertThat(colliding.stream().gather(distinctApprox(10, 0.001, Function.identity()))).containsExactlyElementsOf(colliding);
+		assertThat(colliding.stream().gather(distinctApproxByHash(10, 0.001, Long::longValue))).containsExactlyElementsOf(colliding);
+		assertThat(Stream.of("Aa", "BB", "Aa").gather(distinctApprox(10, 0.001, Function.identity()))).containsExactly("Aa", "BB");
+		assertThat(Stream.of(Tuple.of("Aa"), Tuple.of("BB"), Tuple.of("Aa")).gather(distinctApprox(10, 0.001, Function.identity())))
+			.containsExactly(Tuple.of("Aa"), Tuple.of("BB"));
+	}
+
+
+	@Test
+	void testTopN() {
+		List<Integer> values = new Random(11).ints(10_000).boxed().toList();
+		List<Integer> expected = values.stream().sorted(Comparator.reverseOrder()).limit(100).toList();
+		assertThat(values.stream().gather(topN(100, Comparator.naturalOrder())).toList()).isEqualTo(expected);
+		assertThat(values.parallelStream().gather(topN(100, Comparator.naturalOrder())).toList()).isEqualTo(expected);
+		assertThat(Stream.of(3, 1, 2).gather(topN(5, Comparator.reverseOrder()))).containsExactly(1, 2, 3);
+	}
+
+
+	@Test
+	void testQuantiles() {
+		List<double[]> result = Stream.iterate(1, i -> i <= 100_000, i -> i + 1)
+				.gather(quantiles(0, 0.5, 0.99, 1))
+				.toList();
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0)[0]).isEqualTo(1d);
+		assertThat(result.get(0)[1]).isBetween(48_000d, 52_000d);
+		assertThat(result.get(0)[2]).isBetween(97_000d, 100_000d);
+		assertThat(result.get(0)[3]).isEqualTo(100_000d);
+		assertThat(Stream.<Double>empty().gather(quantiles(0.5)).toList()).isEmpty();
+	}
+
+
+	@Test
+	void testTumblingWindows() {
+		List<String> windows = events(1, 5, 9, 12, 11, 8, 25, 19)
+				.gather(tumblingWindows(Instant.EPOCH, Duration.ofSeconds(10), Duration.ofSeconds(5), Collectors.summingInt(Event::value)))
+				.map(GatherersTest::describe)
+				.toList();
+		// 8 arrives within the lateness, 19 doesn't
+		assertThat(windows).containsExactly("0-10:23", "10-20:23", "20-30:25");
+	}
+
+
+	@Test
+	void testSlidingWindows() {
+		List<String> windows = events(1, 4, 6, 12)
+				.gather(slidingWindows(Instant.EPOCH, Duration.ofSeconds(10), Duration.ofSeconds(5), Duration.ZERO, Collectors.counting()))
+				.map(GatherersTest::describe)
+				.toList();
+		assertThat(windows).containsExactly("-5-5:2", "0-10:3", "5-15:2", "10-20:1");
+	}
+
+
+	@Test
+	void testSessionWindows() {
+		List<String> sessions = events(10, 12, 20, 28, 24, 40, 41)
+				.gather(sessionWindows(Duration.ofSeconds(5), Duration.ofSeconds(10), Collectors.summingInt(Event::value)))
+				.map(GatherersTest::describe)
+				.toList();
+		// 24 arrives late, but bridges the sessions starting at 20 and 28
+		assertThat(sessions).containsExactly("10-17:22", "20-33:72", "40-46:81");
+		assertThat(events(5, 1, 2)
+				.gather(sessionWindows(Duration.ofSeconds(2), Duration.ZERO, Collectors.counting()))
+				.map(GatherersTest::describe))
+				.containsExactly("5-7:1");
+	}
+
+
+	record Event(Instant time, int value) implements Chronological<Instant> {
+		@Override
+		public Instant getChronoKey() {
+			return time;
+		}
+	}
+
+
+	private static Stream<Event> events(int... seconds) {
+		return Arrays.stream(seconds).mapToObj(s -> new Event(Instant.ofEpochSecond(s), s));
+	}
+
+
+	private static String describe(Window<Instant, ?> window) {
+		return window.start().getEpochSecond() + "-" + window.end().getEpochSecond() + ":" + window.result();
+	}
+
+
 }
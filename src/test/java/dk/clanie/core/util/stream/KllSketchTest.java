@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class KllSketchTest {
+
+
+	@Test
+	void testQuantilesOfShuffledValues() {
+		int n = 1_000_000;
+		KllSketch sketch = new KllSketch();
+		Random random = new Random(5);
+		for (int i = 0; i < n; i++) sketch.update(random.nextInt(n));
+		assertThat(sketch.count()).isEqualTo(n);
+		assertThat(sketch.retained()).isLessThan(1_000);
+		double[] estimates = sketch.quantiles(0.01, 0.25, 0.5, 0.9, 0.99);
+		assertThat(estimates[0]).isCloseTo(0.01 * n, within(0.02 * n));
+		assertThat(estimates[1]).isCloseTo(0.25 * n, within(0.02 * n));
+		assertThat(estimates[2]).isCloseTo(0.5 * n, within(0.02 * n));
+		assertThat(estimates[3]).isCloseTo(0.9 * n, within(0.02 * n));
+		assertThat(estimates[4]).isCloseTo(0.99 * n, within(0.02 * n));
+		assertThat(sketch.quantile(0)).isEqualTo(sketch.min());
+		assertThat(sketch.quantile(1)).isEqualTo(sketch.max());
+	}
+
+
+	@Test
+	void testMerge() {
+		KllSketch low = new KllSketch();
+		KllSketch high = new KllSketch();
+		for (int i = 0; i < 100_000; i++) {
+			low.update(i);
+			high.update(100_000 + i);
+		}
+		low.merge(high);
+		assertThat(low.count()).isEqualTo(200_000);
+		assertThat(low.min()).isEqualTo(0d);
+		assertThat(low.max()).isEqualTo(199_999d);
+		assertThat(low.quantile(0.5)).isCloseTo(100_000d, within(4_000d));
+		assertThat(low.quantile(0.75)).isCloseTo(150_000d, within(4_000d));
+	}
+
+
+	@Test
+	void testSmallAndEmpty() {
+		KllSketch sketch = new KllSketch();
+		assertThat(sketch.quantile(0.5)).isNaN();
+		for (int i = 1; i <= 5; i++) sketch.update(i);
+		sketch.update(Double.NaN);
+		assertThat(sketch.count()).isEqualTo(5);
+		assertThat(sketch.quantiles(0, 0.2, 0.5, 1)).containsExactly(1d, 1d, 3d, 5d);
+	}
+
+
+}
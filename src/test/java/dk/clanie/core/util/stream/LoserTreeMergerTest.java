@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class LoserTreeMergerTest {
+
+	private static final Comparator<String> BY_LENGTH = Comparator.comparing(String::length);
+
+
+	@Test
+	void testMergeIsSortedAndStable() {
+		Random random = new Random(11);
+		for (int k : new int[] { 1, 2, 3, 16, 257 }) {
+			List<List<String>> inputs = new ArrayList<>();
+			for (int i = 0; i < k; i++) {
+				List<String> input = new ArrayList<>();
+				for (int j = random.nextInt(50); j > 0; j--) input.add(i + ":" + "x".repeat(random.nextInt(30)));
+				input.sort(BY_LENGTH);
+				inputs.add(input);
+			}
+			// A stable sort of the concatenated inputs keeps equal elements in input order
+			List<String> expected = new ArrayList<>(inputs.stream().flatMap(List::stream).toList());
+			expected.sort(BY_LENGTH);
+
+			List<Iterator<String>> iterators = inputs.stream().map(List::iterator).toList();
+			List<String> merged = new ArrayList<>();
+			new LoserTreeMerger<>(iterators, BY_LENGTH).forEachRemaining(merged::add);
+			assertThat(merged).as("k = " + k).isEqualTo(expected);
+
+			assertThat(inputs.stream().map(List::stream).gather(LoserTreeMerger.gatherer(BY_LENGTH)).toList())
+				.as("k = " + k).isEqualTo(expected);
+		}
+	}
+
+
+	@Test
+	void testEmptyInputs() {
+		LoserTreeMerger<String> none = new LoserTreeMerger<>(List.of(), BY_LENGTH);
+		assertThat(none.hasNext()).isFalse();
+		assertThatThrownBy(none::next).isInstanceOf(NoSuchElementException.class);
+		List<Iterator<String>> empties = List.of(List.<String>of().iterator(), List.of("a").iterator(), List.<String>of().iterator());
+		LoserTreeMerger<String> merger = new LoserTreeMerger<>(empties, BY_LENGTH);
+		assertThat(merger.next()).isEqualTo("a");
+		assertThat(merger.hasNext()).isFalse();
+		assertThat(Stream.<Stream<String>>empty().gather(LoserTreeMerger.gatherer(BY_LENGTH)).toList()).isEmpty();
+	}
+
+
+	@Test
+	void testGathererClosesInputStreams() {
+		AtomicInteger closed = new AtomicInteger();
+		List<Stream<Integer>> inputs = List.of(
+				Stream.iterate(0, i -> i < 1_000, i -> i + 3).onClose(closed::incrementAndGet),
+				Stream.iterate(1, i -> i < 1_000, i -> i + 3).onClose(closed::incrementAndGet),
+				Stream.iterate(2, i -> i < 1_000, i -> i + 3).onClose(closed::incrementAndGet));
+		List<Integer> merged = inputs.stream()
+				.gather(LoserTreeMerger.gatherer(Comparator.<Integer>naturalOrder()))
+				.limit(10)
+				.toList();
+		assertThat(merged).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+		assertThat(closed).as("All input streams closed").hasValue(3);
+	}
+
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026, Claus Nielsen, clausn999@gmail.com
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along
+ * with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin Street, Fifth Floor, Boston, MA 02110-1301 USA.
+ */
+package dk.clanie.core.util.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class MergeJoinIteratorTest {
+
+
+	@Test
+	void testAgainstNestedLoopJoin() {
+		Random random = new Random(13);
+		for (int round = 0; round < 200; round++) {
+			List<Integer> left = sortedRandomList(random, random.nextInt(30));
+			List<Integer> right = sortedRandomList(random, random.nextInt(30));
+			for (JoinType type : JoinType.values()) {
+				List<String> actual = new ArrayList<>();
+				new MergeJoinIterator<Integer, Integer, String>(left.iterator(), right.iterator(),
+						Function.identity(), Function.identity(), Comparator.naturalOrder(), type, (l, r) -> l + "=" + r)
+					.forEachRemaining(actual::add);
+				assertThat(actual).as("%s join of %s and %s", type, left, right)
+					.containsExactlyInAnyOrderElementsOf(nestedLoopJoin(left, right, type));
+			}
+		}
+	}
+
+
+	@Test
+	void testNullResults() {
+		MergeJoinIterator<Integer, Integer, Integer> joined = new MergeJoinIterator<>(List.of(1, 2).iterator(), List.of(2).iterator(),
+				Function.identity(), Function.identity(), Comparator.naturalOrder(), JoinType.LEFT, (l, r) -> r);
+		List<Integer> actual = new ArrayList<>();
+		joined.forEachRemaining(actual::add);
+		assertThat(actual).containsExactly(null, 2);
+		assertThat(joined.hasNext()).isFalse();
+	}
+
+
+	private static List<Integer> sortedRandomList(Random random, int size) {
+		return random.ints(size, 0, 10).sorted().boxed().toList();
+	}
+
+
+	private static List<String> nestedLoopJoin(List<Integer> left, List<Integer> right, JoinType type) {
+		List<String> result = new ArrayList<>();
+		for (Integer l : left) {
+			boolean matched = false;
+			for (Integer r : right) {
+				if (l.equals(r)) {
+					result.add(l + "=" + r);
+					matched = true;
+				}
+			}
+			if (!matched && type != JoinType.INNER) result.add(l + "=null");
+		}
+		if (type == JoinType.FULL) {
+			for (Integer r : right) {
+				if (!left.contains(r)) result.add("null=" + r);
+			}
+		}
+		return result;
+	}
+
+
+}